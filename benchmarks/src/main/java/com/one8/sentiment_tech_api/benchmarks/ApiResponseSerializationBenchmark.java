@@ -0,0 +1,56 @@
+package com.one8.sentiment_tech_api.benchmarks;
+
+import com.one8.sentiment_tech_api.dtos.response.ApiResponse;
+import com.one8.sentiment_tech_api.dtos.response.BatchSentimentResponseDTO;
+import com.one8.sentiment_tech_api.dtos.response.TextSentimentResultDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización JSON de la respuesta de POST /sentiment/batch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"100", "10000"})
+    private int results;
+
+    private JsonMapper jsonMapper;
+    private ApiResponse<BatchSentimentResponseDTO> response;
+
+    @Setup
+    public void setUp() {
+        jsonMapper = JsonMapper.builder().build();
+        List<TextSentimentResultDTO> data = BenchmarkData.results(results, 11);
+        response = ApiResponse.<BatchSentimentResponseDTO>builder()
+                .success(true)
+                .message("Procesamiento batch completado")
+                .data(new BatchSentimentResponseDTO(data.size(), data.size(), 0, 0, 0, 0, 0, data))
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return jsonMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,124 @@
+package com.one8.sentiment_tech_api.benchmarks;
+
+import com.one8.sentiment_tech_api.dtos.response.SentimentResponseDTO;
+import com.one8.sentiment_tech_api.dtos.response.TextSentimentResultDTO;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Datos sintéticos con la forma de los archivos reales: comentarios en español de largo variable,
+ * con tildes, comillas y algunas filas entre comillas dobles.
+ */
+public final class BenchmarkData {
+
+    private static final String[] FRAGMENTS = {
+            "El producto llegó a tiempo", "la atención fue pésima", "muy contento con la compra",
+            "no funciona como esperaba", "el envío tardó más de lo normal", "excelente relación calidad precio",
+            "nunca respondieron mis mensajes", "lo recomiendo a todos", "la caja vino dañada",
+            "cumple lo que promete", "el \"soporte\" no sirve", "volvería a comprar sin dudarlo"
+    };
+    private static final String[] LABELS = {"positivo", "neutral", "negativo"};
+
+    private BenchmarkData() {
+    }
+
+    public static List<String> texts(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<String> texts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            StringBuilder text = new StringBuilder();
+            int fragments = 1 + random.nextInt(4);
+            for (int f = 0; f < fragments; f++) {
+                if (f > 0) {
+                    text.append(random.nextBoolean() ? ", " : " y ");
+                }
+                text.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            }
+            texts.add(text.toString());
+        }
+        return texts;
+    }
+
+    /**
+     * CSV de una columna con encabezado; las filas con comas o comillas van entre comillas (RFC 4180).
+     */
+    public static byte[] csv(int rows, long seed) {
+        StringBuilder csv = new StringBuilder(rows * 64);
+        csv.append("texto\n");
+        for (String text : texts(rows, seed)) {
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0) {
+                csv.append('"').append(text.replace("\"", "\"\"")).append('"');
+            } else {
+                csv.append(text);
+            }
+            csv.append('\n');
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static List<TextSentimentResultDTO> results(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<TextSentimentResultDTO> results = new ArrayList<>(count);
+        for (String text : texts(count, seed)) {
+            String label = random.nextInt(50) == 0 ? "ERROR" : LABELS[random.nextInt(LABELS.length)];
+            results.add(new TextSentimentResultDTO(text, new SentimentResponseDTO(label, random.nextDouble())));
+        }
+        return results;
+    }
+
+    public static MultipartFile multipartFile(String filename, byte[] content) {
+        return new ByteArrayMultipartFile(filename, content);
+    }
+
+    private record ByteArrayMultipartFile(String filename, byte[] content) implements MultipartFile {
+
+        @Override
+        public String getName() {
+            return "file";
+        }
+
+        @Override
+        public String getOriginalFilename() {
+            return filename;
+        }
+
+        @Override
+        public String getContentType() {
+            return "text/csv";
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return content.length == 0;
+        }
+
+        @Override
+        public long getSize() {
+            return content.length;
+        }
+
+        @Override
+        public byte[] getBytes() {
+            return content;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new ByteArrayInputStream(content);
+        }
+
+        @Override
+        public void transferTo(File dest) throws IOException {
+            Files.write(dest.toPath(), content);
+        }
+    }
+}
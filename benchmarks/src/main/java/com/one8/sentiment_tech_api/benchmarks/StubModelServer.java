@@ -0,0 +1,79 @@
+package com.one8.sentiment_tech_api.benchmarks;
+
+import com.one8.sentiment_tech_api.dtos.request.BatchPredictionRequestDTO;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Servidor HTTP local que imita model-api/main.py con respuestas fijas, para medir el costo
+ * del lado Java (serialización, pool de conexiones, resiliencia, micro-batching) sin el modelo.
+ */
+public final class StubModelServer implements AutoCloseable {
+
+    private static final String PREDICTION = "{\"prevision\":\"positivo\",\"probabilidad\":0.9132}";
+    private static final byte[] HEALTH = "{\"status\":\"online\",\"model_loaded\":true,\"model_version\":\"stub\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private StubModelServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        server.setExecutor(executor);
+        server.createContext("/predict/batch", this::predictBatch);
+        server.createContext("/predict", exchange -> respond(exchange, PREDICTION.getBytes(StandardCharsets.UTF_8)));
+        server.createContext("/", exchange -> respond(exchange, HEALTH));
+        server.start();
+    }
+
+    public static StubModelServer start() throws IOException {
+        return new StubModelServer();
+    }
+
+    public String url() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    private void predictBatch(HttpExchange exchange) throws IOException {
+        BatchPredictionRequestDTO request;
+        try (InputStream body = exchange.getRequestBody()) {
+            request = jsonMapper.readValue(body, BatchPredictionRequestDTO.class);
+        }
+        StringBuilder response = new StringBuilder(32 + request.texts().size() * (PREDICTION.length() + 1));
+        response.append("{\"predictions\":[");
+        for (int i = 0; i < request.texts().size(); i++) {
+            if (i > 0) {
+                response.append(',');
+            }
+            response.append(PREDICTION);
+        }
+        response.append("]}");
+        respond(exchange, response.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void respond(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+}
@@ -0,0 +1,106 @@
+package com.one8.sentiment_tech_api.client;
+
+import com.one8.sentiment_tech_api.benchmarks.BenchmarkData;
+import com.one8.sentiment_tech_api.config.ModelApiProperties;
+import com.one8.sentiment_tech_api.dtos.request.BatchPredictionRequestDTO;
+import com.one8.sentiment_tech_api.dtos.request.SentimentRequestDTO;
+import com.one8.sentiment_tech_api.dtos.response.BatchPredictionResponseDTO;
+import com.one8.sentiment_tech_api.dtos.response.SentimentResponseDTO;
+import com.one8.sentiment_tech_api.dtos.response.TextSentimentResultDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.MediaType;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo en el cliente de codificar las peticiones y decodificar las respuestas de 1000 predicciones
+ * con JSON o CBOR ({@link ModelWireCodec}), como llamadas individuales a /predict o en lotes de 32
+ * a /predict/batch. Los bytes enviados y recibidos por cada 1000 predicciones se imprimen en el setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelWireFormatBenchmark {
+
+    private static final int PREDICTIONS = 1000;
+    private static final int BATCH_SIZE = 32;
+
+    @Param({"JSON", "CBOR"})
+    private ModelApiProperties.Transport.WireFormat format;
+
+    private ModelWireCodec codec;
+    private MediaType type;
+    private List<SentimentRequestDTO> singleRequests;
+    private List<byte[]> singleResponses;
+    private List<BatchPredictionRequestDTO> batchRequests;
+    private List<byte[]> batchResponses;
+
+    @Setup
+    public void setUp() {
+        ModelApiProperties properties = new ModelApiProperties();
+        properties.getTransport().setWireFormat(format);
+        codec = new ModelWireCodec(JsonMapper.builder().build(), properties);
+        ModelEndpoint endpoint = new ModelEndpoint("http://localhost:8000");
+        endpoint.setCborSupported(true);
+        type = codec.requestType(endpoint);
+
+        List<TextSentimentResultDTO> results = BenchmarkData.results(PREDICTIONS, 23);
+        singleRequests = new ArrayList<>(PREDICTIONS);
+        singleResponses = new ArrayList<>(PREDICTIONS);
+        for (TextSentimentResultDTO result : results) {
+            singleRequests.add(new SentimentRequestDTO(result.text()));
+            singleResponses.add(codec.encode(result.sentiment(), type));
+        }
+
+        batchRequests = new ArrayList<>();
+        batchResponses = new ArrayList<>();
+        for (int from = 0; from < PREDICTIONS; from += BATCH_SIZE) {
+            List<TextSentimentResultDTO> chunk = results.subList(from, Math.min(from + BATCH_SIZE, PREDICTIONS));
+            batchRequests.add(new BatchPredictionRequestDTO(chunk.stream().map(TextSentimentResultDTO::text).toList()));
+            batchResponses.add(codec.encode(new BatchPredictionResponseDTO(
+                    chunk.stream().map(TextSentimentResultDTO::sentiment).toList()), type));
+        }
+
+        long singleSent = singleRequests.stream().mapToLong(r -> codec.encode(r, type).length).sum();
+        long singleReceived = singleResponses.stream().mapToLong(b -> b.length).sum();
+        long batchSent = batchRequests.stream().mapToLong(r -> codec.encode(r, type).length).sum();
+        long batchReceived = batchResponses.stream().mapToLong(b -> b.length).sum();
+        System.out.printf("%n%s por %d predicciones: /predict %d B enviados + %d B recibidos, /predict/batch %d B enviados + %d B recibidos%n",
+                format, PREDICTIONS, singleSent, singleReceived, batchSent, batchReceived);
+    }
+
+    @Benchmark
+    public void single(Blackhole blackhole) {
+        String contentType = type.toString();
+        for (int i = 0; i < PREDICTIONS; i++) {
+            blackhole.consume(codec.encode(singleRequests.get(i), type));
+            blackhole.consume(codec.decode(singleResponses.get(i), contentType, SentimentResponseDTO.class));
+        }
+    }
+
+    @Benchmark
+    public void batch(Blackhole blackhole) {
+        String contentType = type.toString();
+        for (int i = 0; i < batchRequests.size(); i++) {
+            blackhole.consume(codec.encode(batchRequests.get(i), type));
+            blackhole.consume(codec.decode(batchResponses.get(i), contentType, BatchPredictionResponseDTO.class));
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.one8.sentiment_tech_api.client;
+
+import com.one8.sentiment_tech_api.benchmarks.BenchmarkData;
+import com.one8.sentiment_tech_api.benchmarks.StubModelServer;
+import com.one8.sentiment_tech_api.client.resilience.AdaptiveConcurrencyLimiter;
+import com.one8.sentiment_tech_api.client.resilience.ModelBulkhead;
+import com.one8.sentiment_tech_api.client.resilience.ModelCallGuard;
+import com.one8.sentiment_tech_api.client.resilience.ModelCallScheduler;
+import com.one8.sentiment_tech_api.client.resilience.ModelCircuitBreaker;
+import com.one8.sentiment_tech_api.client.resilience.TrafficClass;
+import com.one8.sentiment_tech_api.config.ClientConfig;
+import com.one8.sentiment_tech_api.config.ModelApiProperties;
+import com.one8.sentiment_tech_api.config.ResilienceProperties;
+import com.one8.sentiment_tech_api.dtos.response.SentimentResponseDTO;
+import com.one8.sentiment_tech_api.metrics.SentimentMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.client.RestClient;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Predicción de punta a punta contra un modelo simulado ({@link StubModelServer}): serialización,
+ * pool HTTP, balanceo, circuit breaker/bulkhead/limitador y micro-batching, armados igual que en
+ * {@link ClientConfig}. No incluye la caché ni el guardado del log, que dependen de la base de datos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(16)
+@Fork(1)
+public class PredictEndToEndBenchmark {
+
+    private StubModelServer server;
+    private CloseableHttpClient httpClient;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private ModelApiClient modelApiClient;
+    private ModelCallGuard modelCallGuard;
+    private PredictionMicroBatcher microBatcher;
+
+    @State(Scope.Thread)
+    public static class Texts {
+        private final List<String> texts = BenchmarkData.texts(1024, Thread.currentThread().threadId());
+        private int next;
+
+        String next() {
+            return texts.get(next++ & (texts.size() - 1));
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = StubModelServer.start();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        ModelApiProperties properties = new ModelApiProperties();
+        properties.setUrl(server.url());
+        ClientConfig clientConfig = new ClientConfig(properties);
+        connectionManager = clientConfig.modelConnectionManager(meterRegistry);
+        httpClient = clientConfig.modelHttpClient(connectionManager);
+        RestClient restClient = clientConfig.restClient(RestClient.builder(), httpClient);
+
+        modelApiClient = new ModelApiClient(restClient, new ModelEndpointPool(properties, restClient, meterRegistry),
+                new ModelWireCodec(JsonMapper.builder().build(), properties), new SentimentMetrics(meterRegistry));
+
+        ResilienceProperties resilience = new ResilienceProperties();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(resilience, meterRegistry);
+        modelCallGuard = new ModelCallGuard(
+                new ModelCircuitBreaker(resilience, meterRegistry),
+                new ModelBulkhead(resilience, meterRegistry),
+                limiter,
+                new ModelCallScheduler(resilience, limiter, meterRegistry));
+
+        microBatcher = new PredictionMicroBatcher(modelApiClient, Optional.empty(), modelCallGuard, properties);
+        microBatcher.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        microBatcher.stop();
+        httpClient.close();
+        connectionManager.close();
+        server.close();
+    }
+
+    @Benchmark
+    public SentimentResponseDTO predictDirect(Texts texts) {
+        String text = texts.next();
+        return modelCallGuard.execute(TrafficClass.INTERACTIVE, () -> modelApiClient.predict(text));
+    }
+
+    @Benchmark
+    public SentimentResponseDTO predictMicroBatched(Texts texts) {
+        return microBatcher.submit(texts.next()).join();
+    }
+}
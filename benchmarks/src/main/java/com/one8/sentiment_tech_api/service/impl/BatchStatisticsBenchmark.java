@@ -0,0 +1,50 @@
+package com.one8.sentiment_tech_api.service.impl;
+
+import com.one8.sentiment_tech_api.benchmarks.BenchmarkData;
+import com.one8.sentiment_tech_api.dtos.response.BatchSentimentResponseDTO;
+import com.one8.sentiment_tech_api.dtos.response.TextSentimentResultDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cálculo de estadísticas del batch (antes {@code calculateStatistics}, hoy {@link BatchStatisticsAccumulator}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchStatisticsBenchmark {
+
+    @Param({"1000", "100000"})
+    private int results;
+
+    private List<TextSentimentResultDTO> data;
+
+    @Setup
+    public void setUp() {
+        data = BenchmarkData.results(results, 7);
+    }
+
+    @Benchmark
+    public BatchSentimentResponseDTO accumulate() {
+        BatchStatisticsAccumulator statistics = new BatchStatisticsAccumulator();
+        for (TextSentimentResultDTO result : data) {
+            statistics.add(result);
+        }
+        return statistics.toResponse(List.of());
+    }
+}
@@ -0,0 +1,88 @@
+package com.one8.sentiment_tech_api.service.impl;
+
+import com.one8.sentiment_tech_api.benchmarks.BenchmarkData;
+import com.one8.sentiment_tech_api.config.BatchProcessingProperties;
+import com.one8.sentiment_tech_api.csv.CsvColumnReader;
+import com.one8.sentiment_tech_api.metrics.SentimentMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lectura de CSV: extracción completa del archivo, el parser solo y, como referencia, la lectura
+ * por líneas con BufferedReader que usaba antes el servicio.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsvProcessingBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int rows;
+
+    private CsvProcessingServiceImpl csvProcessingService;
+    private MultipartFile file;
+    private byte[] csv;
+
+    @Setup
+    public void setUp() {
+        // Solo se mide la lectura del archivo: no hace falta registrar predicciones
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        BatchProcessingProperties properties = new BatchProcessingProperties();
+        properties.setMaxFileSize(DataSize.ofMegabytes(100));
+        csvProcessingService = new CsvProcessingServiceImpl(properties, new BatchExecutor(properties),
+                new SentimentMetrics(meterRegistry), null, new TenantBatchQuota(properties, meterRegistry));
+
+        csv = BenchmarkData.csv(rows, 42);
+        file = BenchmarkData.multipartFile("comentarios.csv", csv);
+    }
+
+    @Benchmark
+    public List<String> extractTextsFromCsv() throws Exception {
+        return csvProcessingService.extractTextsFromCsv(file);
+    }
+
+    @Benchmark
+    public void csvColumnReader(Blackhole blackhole) throws IOException {
+        try (CsvColumnReader reader = new CsvColumnReader(new ByteArrayInputStream(csv))) {
+            String value;
+            while ((value = reader.readColumn(0, true)) != null) {
+                blackhole.consume(value);
+            }
+        }
+    }
+
+    @Benchmark
+    public void bufferedReaderLines(Blackhole blackhole) throws IOException {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new ByteArrayInputStream(csv), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                blackhole.consume(line);
+            }
+        }
+    }
+}
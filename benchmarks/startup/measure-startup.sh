@@ -0,0 +1,56 @@
+#!/usr/bin/env bash
+# Mide el arranque de una imagen del backend: tiempo desde "docker run" hasta que
+# /actuator/health/readiness responde 200, y el "Started ... in X seconds" que informa Spring.
+# Repite N arranques en frío sobre la misma base y el mismo modelo, y muestra cada corrida y la mediana.
+#
+# Requiere la base y el modelo de docker-compose levantados (docker compose up -d db python-api)
+# y las migraciones ya aplicadas.
+#
+# Uso:
+#   docker build -t sentiment-tech-api:default .
+#   docker build -f Dockerfile.startup -t sentiment-tech-api:startup .
+#   benchmarks/startup/measure-startup.sh sentiment-tech-api:default 10
+#   benchmarks/startup/measure-startup.sh sentiment-tech-api:startup 10
+set -euo pipefail
+
+IMAGE=${1:?Uso: $0 <imagen> [corridas]}
+RUNS=${2:-10}
+NETWORK=${NETWORK:-$(basename "$(git rev-parse --show-toplevel 2>/dev/null || pwd)")_default}
+PORT=${PORT:-18080}
+TIMEOUT_S=${TIMEOUT_S:-120}
+READINESS_URL="http://localhost:${PORT}/api/v1/actuator/health/readiness"
+
+ready_ms=()
+started_s=()
+
+for run in $(seq 1 "$RUNS"); do
+  name="startup-measure-${run}"
+  start=$(date +%s%N)
+  docker run -d --rm --name "$name" --network "$NETWORK" -p "${PORT}:8080" \
+    -e DB_USERNAME=sentiment_user -e DB_PASS=sentiment_pass -e DB_PATH=db:5432/sentiment_db \
+    -e MODEL_API_URL=http://sentiment-python:8000 \
+    -e MANAGEMENT_ENDPOINT_HEALTH_PROBES_ENABLED=true \
+    "$IMAGE" > /dev/null
+
+  until curl -fs "$READINESS_URL" > /dev/null 2>&1; do
+    if (( ($(date +%s%N) - start) / 1000000000 > TIMEOUT_S )); then
+      docker logs "$name" | tail -20
+      docker stop "$name" > /dev/null
+      echo "La corrida ${run} no estuvo lista en ${TIMEOUT_S}s" >&2
+      exit 1
+    fi
+    sleep 0.05
+  done
+  elapsed=$(( ($(date +%s%N) - start) / 1000000 ))
+
+  spring=$(docker logs "$name" 2>&1 | sed -n 's/.*Started .* in \([0-9.]*\) seconds.*/\1/p' | head -1)
+  docker stop "$name" > /dev/null
+
+  ready_ms+=("$elapsed")
+  started_s+=("${spring:-?}")
+  printf 'corrida %2d: listo en %6d ms (Spring: %ss)\n' "$run" "$elapsed" "${spring:-?}"
+done
+
+median() { printf '%s\n' "$@" | sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : (v[NR / 2] + v[NR / 2 + 1]) / 2 }'; }
+
+echo "${IMAGE}: mediana hasta readiness $(median "${ready_ms[@]}") ms, mediana Spring $(median "${started_s[@]}") s en ${RUNS} corridas"
@@ -0,0 +1,168 @@
+"""
+Exporta el pipeline entrenado (TfidfVectorizer + clasificador lineal) a un JSON portable
+que usa el motor local de Java (model.engine=local), y genera los casos de paridad con las
+predicciones de este mismo pipeline.
+
+Clasificadores soportados:
+  - CalibratedClassifierCV(LinearSVC | LogisticRegression) con method='sigmoid'
+  - LogisticRegression (binaria, multinomial u OvR)
+
+Uso:
+    python export_model.py --out export/sentiment-model.json --parity-out export/parity.json
+"""
+import argparse
+import hashlib
+import json
+import logging
+from pathlib import Path
+
+import joblib
+import numpy as np
+from sklearn.calibration import CalibratedClassifierCV
+from sklearn.linear_model import LogisticRegression
+from sklearn.svm import LinearSVC
+
+from main import MODEL_PATH, limpiar_texto_para_modelo, predecir_textos
+
+logger = logging.getLogger(__name__)
+
+FORMAT_VERSION = 1
+TOKEN_PATTERN = r"(?u)\b\w\w+\b"
+
+# Casos por defecto para la prueba de paridad: negaciones, tildes, signos, textos que quedan vacíos
+PARITY_SAMPLES = [
+    "El producto llegó a tiempo y funciona perfecto, muy contento con la compra",
+    "No me gustó nada, la atención fue pésima y nunca respondieron",
+    "Está bien, cumple lo que promete",
+    "¡¡¡Excelente servicio!!! Lo recomiendo 100%",
+    "Jamás volveré a comprar aquí, una estafa",
+    "El envío tardó más de lo esperado pero el producto es bueno",
+    "Ni bueno ni malo, normal",
+    "no",
+    "de la que el en y",
+    "!!!",
+    "",
+    "Qué decepción... esperaba mucho más",
+    "La app se cierra sola cada vez que intento pagar",
+    "Gracias por la rápida respuesta, problema resuelto",
+    "El precio es razonable para la calidad que ofrece",
+    "NO FUNCIONA, QUIERO MI DINERO DE VUELTA",
+    "jajajaja qué cosa más rara",
+    "El pedido llegó incompleto y sin factura",
+    "Todo correcto, sin novedades",
+    "Me encanta 😍😍 lo volvería a comprar",
+]
+
+
+def exportar_vectorizador(vectorizer) -> dict:
+    if vectorizer.analyzer != "word" or vectorizer.tokenizer is not None or vectorizer.preprocessor is not None:
+        raise ValueError("Solo se soporta analyzer='word' sin tokenizer ni preprocessor propios")
+    if vectorizer.token_pattern != TOKEN_PATTERN or vectorizer.stop_words is not None:
+        raise ValueError("token_pattern o stop_words no soportados por el motor local")
+    if vectorizer.strip_accents is not None or not vectorizer.lowercase or vectorizer.binary:
+        raise ValueError("strip_accents, lowercase=False o binary=True no soportados por el motor local")
+    if vectorizer.norm not in ("l2", None):
+        raise ValueError(f"norm={vectorizer.norm!r} no soportado por el motor local")
+
+    vocabulario = [None] * len(vectorizer.vocabulary_)
+    for termino, indice in vectorizer.vocabulary_.items():
+        vocabulario[int(indice)] = termino
+
+    idf = vectorizer.idf_ if vectorizer.use_idf else np.ones(len(vocabulario))
+    return {
+        "ngram_range": list(vectorizer.ngram_range),
+        "sublinear_tf": bool(vectorizer.sublinear_tf),
+        "norm": vectorizer.norm,
+        "vocabulary": vocabulario,
+        "idf": idf.tolist(),
+    }
+
+
+def exportar_lineal(estimator) -> dict:
+    if not isinstance(estimator, (LinearSVC, LogisticRegression)):
+        raise ValueError(f"Estimador no lineal no soportado: {type(estimator).__name__}")
+    return {
+        "coef": estimator.coef_.tolist(),
+        "intercept": np.atleast_1d(estimator.intercept_).tolist(),
+    }
+
+
+def exportar_clasificador(classifier) -> dict:
+    if isinstance(classifier, CalibratedClassifierCV):
+        if classifier.method != "sigmoid":
+            raise ValueError(f"Calibración {classifier.method!r} no soportada (solo 'sigmoid')")
+        miembros = []
+        for calibrado in classifier.calibrated_classifiers_:
+            if len(calibrado.classes) != len(classifier.classes_):
+                raise ValueError("Un fold de calibración no vio todas las clases")
+            miembro = exportar_lineal(calibrado.estimator)
+            miembro["sigmoid_a"] = [float(c.a_) for c in calibrado.calibrators]
+            miembro["sigmoid_b"] = [float(c.b_) for c in calibrado.calibrators]
+            miembros.append(miembro)
+        return {"type": "calibrated_sigmoid", "members": miembros}
+
+    if isinstance(classifier, LogisticRegression):
+        multinomial = len(classifier.classes_) > 2 and not (
+            classifier.multi_class == "ovr"
+            or (classifier.multi_class in ("auto", "deprecated") and classifier.solver == "liblinear")
+        )
+        tipo = "logistic_softmax" if multinomial else "logistic_ovr"
+        return {"type": tipo, "members": [exportar_lineal(classifier)]}
+
+    raise ValueError(f"Clasificador no soportado: {type(classifier).__name__}")
+
+
+def exportar(pipeline, model_version: str) -> dict:
+    vectorizer, classifier = pipeline.steps[0][1], pipeline.steps[-1][1]
+    return {
+        "format_version": FORMAT_VERSION,
+        "model_version": model_version,
+        "classes": [str(c) for c in classifier.classes_],
+        "vectorizer": exportar_vectorizador(vectorizer),
+        "classifier": exportar_clasificador(classifier),
+    }
+
+
+def casos_de_paridad(pipeline, textos: list[str], model_version: str) -> dict:
+    respuestas = predecir_textos(pipeline, textos)
+    casos = []
+    for texto, respuesta in zip(textos, respuestas):
+        limpio = limpiar_texto_para_modelo(texto)
+        probabilidades = pipeline.predict_proba([limpio])[0].tolist() if limpio else None
+        casos.append({
+            "text": texto,
+            "prevision": respuesta.prevision,
+            "probabilidad": respuesta.probabilidad,
+            "probabilities": probabilidades,
+        })
+    return {"model_version": model_version, "samples": casos}
+
+
+def main():
+    parser = argparse.ArgumentParser(description="Exporta el modelo para el motor local de Java")
+    parser.add_argument("--model", type=Path, default=MODEL_PATH)
+    parser.add_argument("--out", type=Path, default=Path("export/sentiment-model.json"))
+    parser.add_argument("--parity-out", type=Path, default=Path("export/parity.json"))
+    parser.add_argument("--samples", type=Path, help="Archivo con un texto por línea para la paridad")
+    args = parser.parse_args()
+
+    pipeline = joblib.load(args.model)
+    model_version = hashlib.sha256(args.model.read_bytes()).hexdigest()[:12]
+
+    args.out.parent.mkdir(parents=True, exist_ok=True)
+    args.out.write_text(json.dumps(exportar(pipeline, model_version), ensure_ascii=False), encoding="utf-8")
+    logger.info("Modelo %s exportado en %s", model_version, args.out)
+
+    textos = list(PARITY_SAMPLES)
+    if args.samples:
+        textos += [line for line in args.samples.read_text(encoding="utf-8").splitlines() if line.strip()]
+    args.parity_out.parent.mkdir(parents=True, exist_ok=True)
+    args.parity_out.write_text(
+        json.dumps(casos_de_paridad(pipeline, textos, model_version), ensure_ascii=False, indent=2),
+        encoding="utf-8",
+    )
+    logger.info("%d casos de paridad escritos en %s", len(textos), args.parity_out)
+
+
+if __name__ == "__main__":
+    main()
@@ -1,12 +1,21 @@
-from fastapi import FastAPI, HTTPException, Request
-from pydantic import BaseModel, Field
+from fastapi import FastAPI, HTTPException, Request, Response
+from fastapi.exceptions import RequestValidationError
+from fastapi.middleware.gzip import GZipMiddleware
+from fastapi.routing import APIRoute
+from pydantic import BaseModel, Field, ValidationError
+from starlette.concurrency import run_in_threadpool
 from contextlib import asynccontextmanager
 from pathlib import Path
+import hashlib
 import joblib
 import numpy as np
 import logging
+import os
 import re
+import gzip
+import json
 import unicodedata
+import cbor2
 from starlette.datastructures import State
 
 # -------------------------------------------------------------------
@@ -38,6 +47,9 @@ STOP_WORDS_MANUAL = {
 NEGACIONES_A_PRESERVAR = {'no', 'ni', 'nunca', 'jamas', 'tampoco', 'nada', 'sin'}
 STOP_WORDS_FINAL = STOP_WORDS_MANUAL - NEGACIONES_A_PRESERVAR
 
+# Tamaño máximo aceptado por /predict/batch
+MAX_BATCH_SIZE = int(os.getenv("MAX_BATCH_SIZE", "256"))
+
 # -------------------------------------------------------------------
 # FUNCIONES DE LIMPIEZA (Adaptadas exactamente del Colab)
 # -------------------------------------------------------------------
@@ -68,6 +80,38 @@ class SentimentResponse(BaseModel):
     prevision: str
     probabilidad: float
 
+class BatchSentimentRequest(BaseModel):
+    texts: list[str] = Field(..., min_length=1, max_length=MAX_BATCH_SIZE, description="Textos a analizar")
+
+class BatchSentimentResponse(BaseModel):
+    predictions: list[SentimentResponse]
+
+# -------------------------------------------------------------------
+# PREDICCIÓN
+# -------------------------------------------------------------------
+
+def predecir_textos(model, textos: list[str]) -> list[SentimentResponse]:
+    """Limpia y puntúa N textos con una sola llamada a predict_proba"""
+    procesados = [limpiar_texto_para_modelo(texto) for texto in textos]
+    resultados = [SentimentResponse(prevision="neutral", probabilidad=0.0) for _ in procesados]
+
+    indices = [i for i, texto in enumerate(procesados) if texto]
+    if not indices:
+        return resultados
+
+    # predict() equivale al argmax de predict_proba, así evitamos vectorizar dos veces
+    probs = model.predict_proba([procesados[i] for i in indices])
+    class_labels = model.classes_
+    mejores = np.argmax(probs, axis=1)
+
+    for fila, i in enumerate(indices):
+        mejor = mejores[fila]
+        resultados[i] = SentimentResponse(
+            prevision=str(class_labels[mejor]),
+            probabilidad=round(float(probs[fila, mejor]), 4)
+        )
+    return resultados
+
 # -------------------------------------------------------------------
 # LIFESPAN (Sin cambios en lógica)
 # -------------------------------------------------------------------
@@ -83,13 +127,67 @@ async def lifespan(api: FastAPI):
     try:
         # Cargamos el pipeline completo (Tfidf + Modelo)
         api.state.model = joblib.load(MODEL_PATH)
-        logger.info("✅ Modelo cargado exitosamente")
+        # Versión = hash del archivo; los clientes la usan para invalidar sus cachés
+        api.state.model_version = hashlib.sha256(MODEL_PATH.read_bytes()).hexdigest()[:12]
+        logger.info("✅ Modelo cargado exitosamente (versión %s)", api.state.model_version)
     except Exception as e:
         logger.exception("Error crítico cargando el modelo")
         raise RuntimeError("Fallo al cargar el modelo") from e
     yield
     logger.info("Apagando API")
 
+# -------------------------------------------------------------------
+# COMPRESIÓN (cuerpos gzip enviados por el cliente Java)
+# -------------------------------------------------------------------
+class GzipRequest(Request):
+    async def body(self) -> bytes:
+        if not hasattr(self, "_body"):
+            body = await super().body()
+            if "gzip" in self.headers.getlist("Content-Encoding"):
+                body = gzip.decompress(body)
+            self._body = body
+        return self._body
+
+class GzipRoute(APIRoute):
+    def get_route_handler(self):
+        original_route_handler = super().get_route_handler()
+
+        async def custom_route_handler(request: Request):
+            return await original_route_handler(GzipRequest(request.scope, request.receive))
+
+        return custom_route_handler
+
+# -------------------------------------------------------------------
+# FORMATO DEL CUERPO (JSON o CBOR, negociado por Content-Type / Accept)
+# -------------------------------------------------------------------
+CBOR = "application/cbor"
+WIRE_FORMATS = ["json", "cbor"]
+
+async def leer_cuerpo(request: Request, modelo: type[BaseModel]) -> BaseModel:
+    """Decodifica el cuerpo según su Content-Type y lo valida con el modelo Pydantic"""
+    tipo = request.headers.get("content-type", "application/json").split(";")[0].strip().lower()
+    body = await request.body()
+    try:
+        if tipo == CBOR:
+            datos = cbor2.loads(body)
+        elif tipo == "application/json" or tipo.endswith("+json"):
+            datos = json.loads(body)
+        else:
+            raise HTTPException(status_code=415, detail=f"Content-Type no soportado: {tipo}")
+    except (ValueError, cbor2.CBORDecodeError):
+        raise HTTPException(status_code=400, detail="Cuerpo mal formado")
+
+    try:
+        return modelo.model_validate(datos)
+    except ValidationError as e:
+        raise RequestValidationError(e.errors())
+
+def responder(request: Request, respuesta: BaseModel):
+    """CBOR si el cliente lo acepta; si no, FastAPI serializa a JSON con el response_model"""
+    if CBOR in request.headers.get("accept", ""):
+        return Response(content=cbor2.dumps(respuesta.model_dump()), media_type=CBOR)
+    return respuesta
+
 # -------------------------------------------------------------------
 # APP
 # -------------------------------------------------------------------
@@ -98,43 +196,47 @@ app = FastAPI(
     version="1.1.0",
     lifespan=lifespan
 )
+app.router.route_class = GzipRoute
+# Respuestas de lotes grandes comprimidas si el cliente envía Accept-Encoding: gzip
+app.add_middleware(GZipMiddleware, minimum_size=1024)
 
 # -------------------------------------------------------------------
 # ENDPOINTS (Misma estructura de retorno)
 # -------------------------------------------------------------------
-@app.post("/predict", response_model=SentimentResponse)
-def predict_sentiment(request: SentimentRequest, req: Request):
+# El cuerpo se lee a mano para aceptar JSON y CBOR; openapi_extra mantiene el esquema en /docs
+@app.post("/predict", response_model=SentimentResponse,
+          openapi_extra={"requestBody": {"content": {"application/json": {"schema": SentimentRequest.model_json_schema()}}}})
+async def predict_sentiment(req: Request):
+    request = await leer_cuerpo(req, SentimentRequest)
     model = req.app.state.model
 
     try:
-        # A. Limpieza con lógica del Colab
-        texto_procesado = limpiar_texto_para_modelo(request.text)
-        
-        if not texto_procesado:
-            return SentimentResponse(prevision="neutral", probabilidad=0.0)
-
-        # B. Predicción (Usando el pipeline cargado directamente)
-        input_data = [texto_procesado]
-        prediction = model.predict(input_data)[0]
-        probs = model.predict_proba(input_data)[0]
-        
-        # Obtenemos la probabilidad de la clase predicha
-        class_labels = list(model.classes_)
-        predicted_idx = class_labels.index(prediction)
-        max_prob = float(probs[predicted_idx])
-
-        return SentimentResponse(
-            prevision=str(prediction),
-            probabilidad=round(max_prob, 4)
-        )
+        resultados = await run_in_threadpool(predecir_textos, model, [request.text])
+        return responder(req, resultados[0])
 
     except Exception as e:
         logger.exception("Error procesando la solicitud")
         raise HTTPException(status_code=500, detail="Error interno")
 
+@app.post("/predict/batch", response_model=BatchSentimentResponse,
+          openapi_extra={"requestBody": {"content": {"application/json": {"schema": BatchSentimentRequest.model_json_schema()}}}})
+async def predict_sentiment_batch(req: Request):
+    request = await leer_cuerpo(req, BatchSentimentRequest)
+    model = req.app.state.model
+
+    try:
+        resultados = await run_in_threadpool(predecir_textos, model, request.texts)
+        return responder(req, BatchSentimentResponse(predictions=resultados))
+
+    except Exception as e:
+        logger.exception("Error procesando el lote de %d textos", len(request.texts))
+        raise HTTPException(status_code=500, detail="Error interno")
+
 @app.get("/")
 def health_check(request: Request):
     return {
         "status": "online",
-        "model_loaded": hasattr(request.app.state, "model")
+        "model_loaded": hasattr(request.app.state, "model"),
+        "model_version": getattr(request.app.state, "model_version", None),
+        "wire_formats": WIRE_FORMATS
     }
\ No newline at end of file
@@ -0,0 +1,238 @@
+"""
+Genera los modelos pequeños y los casos de paridad que usa LinearSentimentModelParityTest en
+src/test/resources/nlp/, para que la prueba corra en cualquier checkout sin exportar el modelo real.
+
+Los modelos se escriben en el mismo formato que export_model.py y las predicciones esperadas se
+calculan con una implementación en Python puro de las fórmulas de scikit-learn (TfidfVectorizer,
+LogisticRegression.predict_proba y CalibratedClassifierCV con method='sigmoid') sobre la limpieza
+de main.py, por eso no depende de numpy, scikit-learn ni fastapi. La paridad con el modelo real
+sigue en export_model.py.
+
+Uso:
+    python parity_fixture.py
+"""
+import ast
+import json
+import math
+import re
+from collections import Counter
+from pathlib import Path
+
+BASE_DIR = Path(__file__).resolve().parent
+OUT_DIR = BASE_DIR.parent / "src" / "test" / "resources" / "nlp"
+TOKEN_PATTERN = re.compile(r"(?u)\b\w\w+\b")
+# Igual que export_model.py, que no se importa porque requiere scikit-learn
+FORMAT_VERSION = 1
+
+# Negaciones, tildes, signos, términos repetidos, bigramas y textos que quedan vacíos o sin vocabulario
+SAMPLES = [
+    "El producto llegó a tiempo y funciona perfecto, muy contento con la compra",
+    "No me gustó nada, la atención fue pésima y nunca respondieron",
+    "Está bien, cumple lo que promete",
+    "¡¡¡Excelente servicio!!! Lo recomiendo 100%",
+    "Jamás volveré a comprar aquí, una estafa",
+    "El envío tardó más de lo esperado pero el producto es bueno",
+    "Ni bueno ni malo, normal",
+    "NO FUNCIONA, no funciona, NO FUNCIONA",
+    "excelente excelente excelente servicio",
+    "Qué decepción... esperaba mucho más",
+    "Gracias por la rápida respuesta",
+    "no",
+    "de la que el en y",
+    "!!!",
+    "",
+    "zzz qwerty",
+]
+
+
+def cargar_limpieza():
+    """limpiar_texto_para_modelo y sus stopwords tal como están en main.py, sin importar fastapi."""
+    arbol = ast.parse((BASE_DIR / "main.py").read_text(encoding="utf-8"))
+    nombres = {"STOP_WORDS_MANUAL", "NEGACIONES_A_PRESERVAR", "STOP_WORDS_FINAL", "limpiar_texto_para_modelo"}
+    nodos = [
+        nodo for nodo in arbol.body
+        if (isinstance(nodo, ast.Assign) and any(getattr(t, "id", None) in nombres for t in nodo.targets))
+        or (isinstance(nodo, ast.FunctionDef) and nodo.name in nombres)
+    ]
+    entorno = {"re": re}
+    exec(compile(ast.Module(body=nodos, type_ignores=[]), "main.py", "exec"), entorno)
+    return entorno["limpiar_texto_para_modelo"]
+
+
+limpiar_texto_para_modelo = cargar_limpieza()
+
+# Pesos por término (negativo, neutral, positivo) e idf; incluye bigramas y negaciones
+TERMINOS = {
+    "excelente": (-1.9, -0.4, 2.3, 2.1),
+    "servicio": (0.1, 0.3, -0.2, 1.4),
+    "producto": (0.0, 0.2, 0.1, 1.2),
+    "perfecto": (-1.5, -0.3, 1.8, 2.4),
+    "funciona": (-0.6, 0.1, 0.7, 1.7),
+    "no": (0.9, 0.0, -0.8, 1.3),
+    "no funciona": (2.2, -0.3, -1.9, 2.6),
+    "no gustó": (2.0, -0.2, -1.7, 2.8),
+    "gustó": (-0.8, 0.1, 0.9, 2.2),
+    "pésima": (2.4, -0.5, -2.0, 2.7),
+    "atención": (0.3, 0.2, -0.3, 1.9),
+    "nunca": (1.1, 0.0, -1.0, 2.0),
+    "bien": (-0.7, 0.6, 0.5, 1.6),
+    "normal": (-0.2, 1.5, -0.6, 2.3),
+    "ni": (0.2, 0.7, -0.4, 2.1),
+    "bueno": (-1.0, 0.2, 1.1, 1.8),
+    "malo": (1.6, 0.1, -1.5, 2.0),
+    "estafa": (2.6, -0.6, -2.2, 3.0),
+    "recomiendo": (-1.2, -0.2, 1.6, 2.2),
+    "decepción": (1.9, -0.1, -1.6, 2.9),
+    "gracias": (-1.1, 0.0, 1.3, 2.0),
+    "rápida": (-0.9, 0.0, 1.0, 2.3),
+    "envío": (0.2, 0.4, -0.1, 2.0),
+    "tardó": (1.0, 0.1, -0.9, 2.4),
+    "100": (-0.3, 0.0, 0.4, 3.1),
+}
+CLASES = ["negativo", "neutral", "positivo"]
+
+
+def modelo_calibrado() -> dict:
+    """Dos miembros de calibración sigmoide sobre un clasificador lineal de 3 clases."""
+    vocabulario = list(TERMINOS)
+    miembros = []
+    for escala, intercepto, a, b in [(1.0, [-0.2, 0.3, -0.1], [-1.8, -1.2, -2.0], [0.1, -0.3, 0.2]),
+                                     (0.8, [-0.1, 0.2, 0.0], [-2.1, -1.0, -1.7], [-0.2, 0.1, 0.05])]:
+        miembros.append({
+            "coef": [[TERMINOS[t][c] * escala for t in vocabulario] for c in range(len(CLASES))],
+            "intercept": intercepto,
+            "sigmoid_a": a,
+            "sigmoid_b": b,
+        })
+    return {
+        "format_version": FORMAT_VERSION,
+        "model_version": "fixture-calibrated",
+        "classes": CLASES,
+        "vectorizer": {
+            "ngram_range": [1, 2],
+            "sublinear_tf": True,
+            "norm": "l2",
+            "vocabulary": vocabulario,
+            "idf": [TERMINOS[t][3] for t in vocabulario],
+        },
+        "classifier": {"type": "calibrated_sigmoid", "members": miembros},
+    }
+
+
+def modelo_binario() -> dict:
+    """Regresión logística binaria (negativo/positivo) sin tf sublineal."""
+    vocabulario = list(TERMINOS)
+    return {
+        "format_version": FORMAT_VERSION,
+        "model_version": "fixture-logistic-binary",
+        "classes": ["negativo", "positivo"],
+        "vectorizer": {
+            "ngram_range": [1, 2],
+            "sublinear_tf": False,
+            "norm": "l2",
+            "vocabulary": vocabulario,
+            "idf": [TERMINOS[t][3] for t in vocabulario],
+        },
+        "classifier": {
+            "type": "logistic_ovr",
+            "members": [{"coef": [[TERMINOS[t][2] - TERMINOS[t][0] for t in vocabulario]], "intercept": [0.15]}],
+        },
+    }
+
+
+def expit(x: float) -> float:
+    return 1.0 / (1.0 + math.exp(-x))
+
+
+def vectorizar(modelo: dict, limpio: str) -> list[tuple[int, float]]:
+    """TfidfVectorizer.transform: n-gramas de palabras, tf (sublineal si aplica) * idf y norma L2."""
+    vectorizador = modelo["vectorizer"]
+    indice = {termino: i for i, termino in enumerate(vectorizador["vocabulary"])}
+    tokens = TOKEN_PATTERN.findall(limpio)
+    min_n, max_n = vectorizador["ngram_range"]
+    conteos = Counter()
+    for n in range(min_n, max_n + 1):
+        for i in range(len(tokens) - n + 1):
+            columna = indice.get(" ".join(tokens[i:i + n]))
+            if columna is not None:
+                conteos[columna] += 1
+
+    valores = []
+    for columna in sorted(conteos):
+        tf = conteos[columna]
+        peso = 1.0 + math.log(tf) if vectorizador["sublinear_tf"] else float(tf)
+        valores.append((columna, peso * vectorizador["idf"][columna]))
+    if vectorizador["norm"] == "l2":
+        norma = math.sqrt(sum(v * v for _, v in valores))
+        if norma > 0.0:
+            valores = [(c, v / norma) for c, v in valores]
+    return valores
+
+
+def normalizar(proba: list[float], binario: bool) -> list[float]:
+    if binario:
+        return [1.0 - proba[1], proba[1]]
+    total = sum(proba)
+    return [p / total if total != 0.0 else 1.0 / len(proba) for p in proba]
+
+
+def predict_proba(modelo: dict, limpio: str) -> list[float]:
+    x = vectorizar(modelo, limpio)
+    clasificador = modelo["classifier"]
+    n_clases = len(modelo["classes"])
+    binario = n_clases == 2
+    proba = [0.0] * n_clases
+    for miembro in clasificador["members"]:
+        decision = [
+            intercepto + sum(fila[c] * v for c, v in x)
+            for fila, intercepto in zip(miembro["coef"], miembro["intercept"])
+        ]
+        salida = [0.0] * n_clases
+        if clasificador["type"] == "calibrated_sigmoid":
+            # _SigmoidCalibration.predict: expit(-(a * f + b)) por clase, luego normalización
+            for r, f in enumerate(decision):
+                salida[1 if binario else r] = expit(-(miembro["sigmoid_a"][r] * f + miembro["sigmoid_b"][r]))
+            salida = normalizar(salida, binario)
+            salida = [1.0 if 1.0 < p <= 1.0 + 1e-5 else p for p in salida]
+        elif clasificador["type"] == "logistic_ovr":
+            for r, f in enumerate(decision):
+                salida[1 if binario else r] = expit(f)
+            salida = normalizar(salida, binario)
+        else:
+            maximo = max(decision)
+            exps = [math.exp(f - maximo) for f in decision]
+            salida = [e / sum(exps) for e in exps]
+        proba = [p + s for p, s in zip(proba, salida)]
+    return [p / len(clasificador["members"]) for p in proba]
+
+
+def casos_de_paridad(modelo: dict, textos: list[str]) -> dict:
+    """Mismo formato y misma regla de respuesta que predecir_textos en main.py."""
+    casos = []
+    for texto in textos:
+        limpio = limpiar_texto_para_modelo(texto)
+        if not limpio:
+            casos.append({"text": texto, "prevision": "neutral", "probabilidad": 0.0, "probabilities": None})
+            continue
+        proba = predict_proba(modelo, limpio)
+        mejor = max(range(len(proba)), key=lambda c: (proba[c], -c))
+        casos.append({
+            "text": texto,
+            "prevision": modelo["classes"][mejor],
+            "probabilidad": round(proba[mejor], 4),
+            "probabilities": proba,
+        })
+    return {"model_version": modelo["model_version"], "samples": casos}
+
+
+def main():
+    OUT_DIR.mkdir(parents=True, exist_ok=True)
+    for nombre, modelo in [("calibrated", modelo_calibrado()), ("logistic-binary", modelo_binario())]:
+        (OUT_DIR / f"{nombre}-model.json").write_text(json.dumps(modelo, ensure_ascii=False, indent=1), encoding="utf-8")
+        (OUT_DIR / f"{nombre}-parity.json").write_text(
+            json.dumps(casos_de_paridad(modelo, SAMPLES), ensure_ascii=False, indent=2), encoding="utf-8")
+        print(f"{nombre}: {len(SAMPLES)} casos en {OUT_DIR}")
+
+
+if __name__ == "__main__":
+    main()
@@ -0,0 +1,69 @@
+package com.one8.sentiment_tech_api.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.one8.sentiment_tech_api.client.ModelVersionChangedEvent;
+import com.one8.sentiment_tech_api.config.PredictionCacheProperties;
+import com.one8.sentiment_tech_api.dtos.response.SentimentResponseDTO;
+import com.one8.sentiment_tech_api.nlp.TextNormalizer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Caché en memoria de predicciones indexada por el texto normalizado igual que en el modelo
+ * ({@link TextNormalizer}), de modo que "¡Muy bueno!" y "muy bueno" comparten entrada.
+ * Se vacía automáticamente cuando cambia la versión del modelo.
+ */
+@Slf4j
+@Component
+public class PredictionCache {
+
+    private static final String CACHE_NAME = "sentiment.predictions";
+
+    private final boolean enabled;
+    private final Cache<String, SentimentResponseDTO> cache;
+    private final Counter invalidations;
+
+    public PredictionCache(PredictionCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        this.invalidations = Counter.builder("cache.invalidations")
+                .tag("cache", CACHE_NAME)
+                .description("Vaciados de la caché por cambio de versión del modelo")
+                .register(meterRegistry);
+
+        // Expone cache.gets{result=hit|miss}, cache.evictions, cache.size, etc.
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Optional<SentimentResponseDTO> get(String text) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.getIfPresent(TextNormalizer.normalize(text)));
+    }
+
+    public void put(String text, SentimentResponseDTO response) {
+        if (enabled && response != null) {
+            cache.put(TextNormalizer.normalize(text), response);
+        }
+    }
+
+    @EventListener
+    public void onModelVersionChanged(ModelVersionChangedEvent event) {
+        log.info("Invalidando caché de predicciones por cambio de modelo ({} -> {})",
+                event.previousVersions(), event.currentVersions());
+        cache.invalidateAll();
+        invalidations.increment();
+    }
+}
@@ -0,0 +1,121 @@
+package com.one8.sentiment_tech_api.client;
+
+import com.one8.sentiment_tech_api.config.ModelApiProperties;
+import com.one8.sentiment_tech_api.dtos.request.BatchPredictionRequestDTO;
+import com.one8.sentiment_tech_api.dtos.request.SentimentRequestDTO;
+import com.one8.sentiment_tech_api.dtos.response.BatchPredictionResponseDTO;
+import com.one8.sentiment_tech_api.dtos.response.SentimentResponseDTO;
+import com.one8.sentiment_tech_api.metrics.ModelCallOutcome;
+import com.one8.sentiment_tech_api.metrics.SentimentMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Versión no bloqueante de {@link ModelApiClient} sobre el {@link HttpClient} del JDK: cada llamada
+ * devuelve un {@link CompletableFuture} y ningún hilo queda esperando la respuesta del modelo.
+ * Los errores se traducen a las mismas excepciones de Spring que lanza el cliente bloqueante, así el
+ * circuit breaker y el manejo de errores no distinguen entre ambos.
+ */
+@Component
+@ConditionalOnProperty(name = "model.api.async.enabled", havingValue = "true")
+public class AsyncModelApiClient {
+
+    private final HttpClient httpClient;
+    private final ModelEndpointPool endpointPool;
+    private final ModelWireCodec wireCodec;
+    private final SentimentMetrics metrics;
+    private final Duration readTimeout;
+
+    public AsyncModelApiClient(HttpClient modelAsyncHttpClient, ModelEndpointPool endpointPool, ModelWireCodec wireCodec,
+                               SentimentMetrics metrics, ModelApiProperties properties) {
+        this.httpClient = modelAsyncHttpClient;
+        this.endpointPool = endpointPool;
+        this.wireCodec = wireCodec;
+        this.metrics = metrics;
+        this.readTimeout = properties.getTransport().getReadTimeout();
+    }
+
+    public CompletableFuture<SentimentResponseDTO> predict(String text) {
+        return post("predict", "/predict", new SentimentRequestDTO(text), SentimentResponseDTO.class);
+    }
+
+    public CompletableFuture<List<SentimentResponseDTO>> predictBatch(List<String> texts) {
+        metrics.recordModelBatchSize(texts.size());
+        return post("predict_batch", "/predict/batch", new BatchPredictionRequestDTO(texts), BatchPredictionResponseDTO.class)
+                .thenApply(response -> {
+                    if (response == null || response.predictions() == null || response.predictions().size() != texts.size()) {
+                        throw new IllegalStateException("Respuesta batch del modelo incompleta para " + texts.size() + " textos");
+                    }
+                    return response.predictions();
+                });
+    }
+
+    private <T> CompletableFuture<T> post(String operation, String path, Object body, Class<T> responseType) {
+        ModelEndpoint endpoint = endpointPool.acquire();
+        long start = System.nanoTime();
+
+        CompletableFuture<T> result;
+        try {
+            MediaType requestType = wireCodec.requestType(endpoint);
+            HttpRequest request = HttpRequest.newBuilder(URI.create(endpoint.resolve(path)))
+                    .timeout(readTimeout)
+                    .header(HttpHeaders.CONTENT_TYPE, requestType.toString())
+                    .header(HttpHeaders.ACCEPT, wireCodec.accept(requestType))
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(wireCodec.encode(body, requestType)))
+                    .build();
+            result = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                    .thenApply(response -> read(response, responseType));
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+
+        return result.whenComplete((response, error) -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            // Un 4xx no indica que la réplica esté mal
+            ModelCallOutcome outcome = cause == null ? ModelCallOutcome.SUCCESS
+                    : cause instanceof HttpClientErrorException ? ModelCallOutcome.CLIENT_ERROR
+                    : ModelCallOutcome.ERROR;
+            metrics.recordModelCall(operation, outcome, System.nanoTime() - start);
+            endpointPool.release(endpoint, outcome == ModelCallOutcome.ERROR);
+        }).exceptionallyCompose(error -> CompletableFuture.failedFuture(translate(error)));
+    }
+
+    private <T> T read(HttpResponse<byte[]> response, Class<T> responseType) {
+        HttpStatusCode status = HttpStatusCode.valueOf(response.statusCode());
+        if (status.is4xxClientError()) {
+            throw HttpClientErrorException.create(status, "", new HttpHeaders(), response.body(), StandardCharsets.UTF_8);
+        }
+        if (status.isError()) {
+            throw HttpServerErrorException.create(status, "", new HttpHeaders(), response.body(), StandardCharsets.UTF_8);
+        }
+        return wireCodec.decode(response.body(), response.headers().firstValue(HttpHeaders.CONTENT_TYPE).orElse(null), responseType);
+    }
+
+    /**
+     * Los errores de E/S se exponen como {@link ResourceAccessException}, igual que en RestClient.
+     */
+    private static Throwable translate(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof IOException io) {
+            return new ResourceAccessException("Error de E/S llamando al modelo: " + io.getMessage(), io);
+        }
+        return cause;
+    }
+}
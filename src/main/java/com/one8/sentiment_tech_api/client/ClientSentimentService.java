@@ -1,47 +1,152 @@
 package com.one8.sentiment_tech_api.client;
 
+import com.one8.sentiment_tech_api.cache.PredictionCache;
+import com.one8.sentiment_tech_api.client.resilience.ModelCallGuard;
+import com.one8.sentiment_tech_api.client.resilience.ModelCallRejectedException;
+import com.one8.sentiment_tech_api.client.resilience.TrafficContext;
+import com.one8.sentiment_tech_api.config.ModelApiProperties;
 import com.one8.sentiment_tech_api.dtos.request.SentimentRequestDTO;
 import com.one8.sentiment_tech_api.dtos.response.SentimentResponseDTO;
 import com.one8.sentiment_tech_api.exceptions.ServiceUnavailableException;
+import com.one8.sentiment_tech_api.metrics.SentimentMetrics;
 import com.one8.sentiment_tech_api.service.SentimentService;
 import com.one8.sentiment_tech_api.service.impl.SentimentStatsServiceImpl;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.MediaType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClient;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 /**
  * Servicio que media entre el controlador y se comunica con el ms de python
  */
 @Slf4j
 @Service
+@ConditionalOnProperty(name = "model.engine", havingValue = "remote", matchIfMissing = true)
 @RequiredArgsConstructor
 public class ClientSentimentService implements SentimentService {
 
-    private final RestClient restClient;
+    private final ModelApiClient modelApiClient;
+    private final PredictionMicroBatcher microBatcher;
+    private final ModelCallGuard modelCallGuard;
+    private final PredictionCache predictionCache;
+    private final PredictionCoalescer predictionCoalescer;
+    private final ModelApiProperties modelApiProperties;
     private final SentimentStatsServiceImpl sentimentStatsService;
+    private final SentimentMetrics metrics;
+    private final Optional<AsyncModelApiClient> asyncModelApiClient;
 
     @Override
     public SentimentResponseDTO predict(SentimentRequestDTO request) {
-        log.info("Iniciando análisis de sentimiento para el texto: {}", request.text());
+        SentimentResponseDTO response = score(request);
+
+        // Guardar automáticamente el resultado en la base de datos (también en aciertos de caché)
+        sentimentStatsService.saveLog(request.text(), response);
+
+        return response;
+    }
+
+    @Override
+    public SentimentResponseDTO score(SentimentRequestDTO request) {
+        log.debug("Iniciando análisis de sentimiento ({} caracteres)", request.text().length());
 
         try {
-            // llamada al microservicio de Python (FastAPI/Flask)
-            SentimentResponseDTO response = restClient.post()
-                    .uri("predict") // Ajustar según el endpoint de Python
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .body(request)
-                    .retrieve()
-                    .body(SentimentResponseDTO.class);
-            
-            // Guardar automáticamente el resultado en la base de datos
-            sentimentStatsService.saveLog(request.text(), response);
-            
-            return response;
+            return predictionCache.get(request.text())
+                    .orElseGet(() -> callModel(request.text()));
         } catch (Exception e) {
-            log.error("Error al conectar con el modelo de Data Science: {}", e.getMessage());
-            throw new ServiceUnavailableException("El servicio de análisis no está disponible en este momento.");
+            throw unavailable(e);
+        }
+    }
+
+    /**
+     * Con {@code model.api.async.enabled} la llamada al modelo no ocupa ningún hilo mientras espera;
+     * si no, se resuelve de forma bloqueante como {@link #predict}.
+     */
+    @Override
+    public CompletableFuture<SentimentResponseDTO> predictAsync(SentimentRequestDTO request) {
+        if (asyncModelApiClient.isEmpty()) {
+            return SentimentService.super.predictAsync(request);
+        }
+
+        String text = request.text();
+        return predictionCache.get(text)
+                .map(CompletableFuture::completedFuture)
+                .orElseGet(() -> callModelAsync(text))
+                .handle((response, error) -> {
+                    if (error != null) {
+                        throw unavailable(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+                    }
+                    sentimentStatsService.saveLog(text, response);
+                    return response;
+                });
+    }
+
+    private ServiceUnavailableException unavailable(Throwable e) {
+        metrics.recordFailure(failureType(e));
+        if (e instanceof ModelCallRejectedException || e.getCause() instanceof ModelCallRejectedException) {
+            log.warn("Llamada al modelo rechazada: {}", e.getMessage());
+            return new ServiceUnavailableException("El servicio de análisis está saturado, intente más tarde.");
+        }
+        log.error("Error al conectar con el modelo de Data Science: {}", e.getMessage());
+        return new ServiceUnavailableException("El servicio de análisis no está disponible en este momento.");
+    }
+
+    private SentimentResponseDTO callModel(String text) {
+        // llamada al microservicio de Python (FastAPI), agrupada en lotes si está habilitado
+        return coalesced(text, () -> modelApiProperties.getBatching().isEnabled()
+                ? microBatcher.submit(text)
+                : CompletableFuture.completedFuture(modelCallGuard.execute(TrafficContext.current(), () -> modelApiClient.predict(text))))
+                .join();
+    }
+
+    private CompletableFuture<SentimentResponseDTO> callModelAsync(String text) {
+        return coalesced(text, () -> modelApiProperties.getBatching().isEnabled()
+                ? microBatcher.submit(text)
+                : modelCallGuard.executeAsync(TrafficContext.current(), () -> asyncModelApiClient.get().predict(text)));
+    }
+
+    /**
+     * Las peticiones concurrentes del mismo texto comparten una llamada al modelo; solo la que la
+     * inicia guarda el resultado en la caché. El log lo sigue guardando cada petición.
+     */
+    private CompletableFuture<SentimentResponseDTO> coalesced(String text, Supplier<CompletableFuture<SentimentResponseDTO>> call) {
+        Supplier<CompletableFuture<SentimentResponseDTO>> cachedCall = () -> call.get().thenApply(response -> {
+            predictionCache.put(text, response);
+            return response;
+        });
+        return modelApiProperties.getCoalescing().isEnabled()
+                ? predictionCoalescer.coalesce(text, cachedCall)
+                : cachedCall.get();
+    }
+
+    private static String failureType(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof ModelCallRejectedException) {
+            return "rejected";
+        }
+        if (cause instanceof TimeoutException) {
+            return "timeout";
+        }
+        if (cause instanceof ResourceAccessException) {
+            boolean timeout = cause.getCause() instanceof SocketTimeoutException || cause.getCause() instanceof HttpTimeoutException;
+            return timeout ? "timeout" : "connection";
+        }
+        if (cause instanceof HttpServerErrorException) {
+            return "model_5xx";
+        }
+        if (cause instanceof HttpClientErrorException) {
+            return "model_4xx";
         }
+        return "other";
     }
 }
@@ -0,0 +1,85 @@
+package com.one8.sentiment_tech_api.client;
+
+import com.one8.sentiment_tech_api.dtos.request.BatchPredictionRequestDTO;
+import com.one8.sentiment_tech_api.dtos.request.SentimentRequestDTO;
+import com.one8.sentiment_tech_api.dtos.response.BatchPredictionResponseDTO;
+import com.one8.sentiment_tech_api.dtos.response.SentimentResponseDTO;
+import com.one8.sentiment_tech_api.metrics.ModelCallOutcome;
+import com.one8.sentiment_tech_api.metrics.SentimentMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Acceso HTTP al microservicio de Python. No guarda resultados ni maneja errores:
+ * eso queda a cargo de {@link ClientSentimentService}. Cada llamada va a la réplica
+ * que elige {@link ModelEndpointPool}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ModelApiClient {
+
+    private final RestClient restClient;
+    private final ModelEndpointPool endpointPool;
+    private final ModelWireCodec wireCodec;
+    private final SentimentMetrics metrics;
+
+    public SentimentResponseDTO predict(String text) {
+        return call("predict", endpoint -> post(endpoint, "/predict", new SentimentRequestDTO(text), SentimentResponseDTO.class));
+    }
+
+    public List<SentimentResponseDTO> predictBatch(List<String> texts) {
+        metrics.recordModelBatchSize(texts.size());
+        BatchPredictionResponseDTO response = call("predict_batch", endpoint ->
+                post(endpoint, "/predict/batch", new BatchPredictionRequestDTO(texts), BatchPredictionResponseDTO.class));
+
+        if (response == null || response.predictions() == null || response.predictions().size() != texts.size()) {
+            throw new IllegalStateException("Respuesta batch del modelo incompleta para " + texts.size() + " textos");
+        }
+        return response.predictions();
+    }
+
+    /**
+     * El cuerpo se codifica con {@link ModelWireCodec} según lo que soporte la réplica y la respuesta
+     * se decodifica según su Content-Type.
+     */
+    private <T> T post(ModelEndpoint endpoint, String path, Object body, Class<T> responseType) {
+        MediaType requestType = wireCodec.requestType(endpoint);
+        ResponseEntity<byte[]> response = restClient.post()
+                .uri(endpoint.resolve(path))
+                .contentType(requestType)
+                .header(HttpHeaders.ACCEPT, wireCodec.accept(requestType))
+                .body(wireCodec.encode(body, requestType))
+                .retrieve()
+                .toEntity(byte[].class);
+        if (response.getBody() == null) {
+            return null;
+        }
+        return wireCodec.decode(response.getBody(), response.getHeaders().getFirst(HttpHeaders.CONTENT_TYPE), responseType);
+    }
+
+    private <T> T call(String operation, Function<ModelEndpoint, T> request) {
+        ModelEndpoint endpoint = endpointPool.acquire();
+        ModelCallOutcome outcome = ModelCallOutcome.ERROR;
+        long start = System.nanoTime();
+        try {
+            T result = request.apply(endpoint);
+            outcome = ModelCallOutcome.SUCCESS;
+            return result;
+        } catch (HttpClientErrorException e) {
+            // Un 4xx no indica que la réplica esté mal
+            outcome = ModelCallOutcome.CLIENT_ERROR;
+            throw e;
+        } finally {
+            metrics.recordModelCall(operation, outcome, System.nanoTime() - start);
+            endpointPool.release(endpoint, outcome == ModelCallOutcome.ERROR);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.one8.sentiment_tech_api.client;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Réplica del microservicio de Python con su carga actual y su estado de salud.
+ * El estado lo mantiene {@link ModelEndpointPool}.
+ */
+public class ModelEndpoint {
+
+    private final String url;
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    private volatile boolean healthy = true;
+    private volatile boolean cborSupported;
+    private volatile String modelVersion;
+    private volatile boolean ejected;
+    private volatile long ejectedUntilNanos;
+    private int consecutiveProbeFailures;
+    private int consecutiveProbeSuccesses;
+    private final AtomicInteger consecutiveCallFailures = new AtomicInteger();
+
+    ModelEndpoint(String url) {
+        this.url = url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    public String url() {
+        return url;
+    }
+
+    /**
+     * URL absoluta de la ruta indicada en esta réplica (p. ej. "/predict").
+     */
+    public String resolve(String path) {
+        return url + path;
+    }
+
+    public int outstanding() {
+        return outstanding.get();
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    /**
+     * Si la réplica anunció CBOR en su último health check correcto.
+     */
+    public boolean supportsCbor() {
+        return cborSupported;
+    }
+
+    void setCborSupported(boolean cborSupported) {
+        this.cborSupported = cborSupported;
+    }
+
+    /**
+     * Versión de modelo anunciada en el último health check, o null si falló.
+     */
+    public String modelVersion() {
+        return modelVersion;
+    }
+
+    void setModelVersion(String modelVersion) {
+        this.modelVersion = modelVersion;
+    }
+
+    boolean isAvailable(long nowNanos) {
+        return healthy && (!ejected || nowNanos - ejectedUntilNanos >= 0);
+    }
+
+    void acquire() {
+        outstanding.incrementAndGet();
+    }
+
+    void release() {
+        outstanding.decrementAndGet();
+    }
+
+    int recordCallFailure() {
+        return consecutiveCallFailures.incrementAndGet();
+    }
+
+    void recordCallSuccess() {
+        consecutiveCallFailures.set(0);
+    }
+
+    void eject(long untilNanos) {
+        ejectedUntilNanos = untilNanos;
+        ejected = true;
+        consecutiveCallFailures.set(0);
+    }
+
+    /**
+     * Registra el resultado de un health check y devuelve si cambió el estado de salud.
+     */
+    synchronized boolean recordProbe(boolean up, int unhealthyThreshold, int healthyThreshold) {
+        if (up) {
+            consecutiveProbeFailures = 0;
+            consecutiveProbeSuccesses++;
+            if (!healthy && consecutiveProbeSuccesses >= healthyThreshold) {
+                healthy = true;
+                ejected = false;
+                return true;
+            }
+        } else {
+            consecutiveProbeSuccesses = 0;
+            consecutiveProbeFailures++;
+            if (healthy && consecutiveProbeFailures >= unhealthyThreshold) {
+                healthy = false;
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,38 @@
+package com.one8.sentiment_tech_api.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Health checks periódicos de las réplicas de {@link ModelEndpointPool} y sus métricas por réplica.
+ * Solo con el motor remoto: con {@code model.engine=local} no hay réplicas que consultar.
+ */
+@Component
+@ConditionalOnProperty(name = "model.engine", havingValue = "remote", matchIfMissing = true)
+public class ModelEndpointMonitor {
+
+    private final ModelEndpointPool endpointPool;
+
+    public ModelEndpointMonitor(ModelEndpointPool endpointPool, MeterRegistry meterRegistry) {
+        this.endpointPool = endpointPool;
+
+        for (ModelEndpoint endpoint : endpointPool.getEndpoints()) {
+            Gauge.builder("model.endpoint.outstanding", endpoint, ModelEndpoint::outstanding)
+                    .tag("endpoint", endpoint.url())
+                    .description("Peticiones en curso por réplica del modelo")
+                    .register(meterRegistry);
+            Gauge.builder("model.endpoint.available", endpoint, e -> e.isAvailable(System.nanoTime()) ? 1 : 0)
+                    .tag("endpoint", endpoint.url())
+                    .description("1 si la réplica recibe tráfico, 0 si está expulsada")
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${model.api.balancing.health-check-interval:5s}")
+    public void probeEndpoints() {
+        endpointPool.probeEndpoints();
+    }
+}
@@ -0,0 +1,160 @@
+package com.one8.sentiment_tech_api.client;
+
+import com.one8.sentiment_tech_api.config.ModelApiProperties;
+import com.one8.sentiment_tech_api.dtos.response.ModelHealthDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Reparte las llamadas entre las réplicas del modelo ({@code model.api.urls}).
+ * Elige por power-of-two-choices o por menor número de peticiones en curso entre las réplicas
+ * disponibles. Una réplica deja de recibir tráfico si falla el health check ({@code GET /} con
+ * {@code model_loaded}) o acumula errores consecutivos, y se readmite automáticamente. Los health
+ * checks periódicos y las métricas por réplica están en {@link ModelEndpointMonitor}.
+ */
+@Slf4j
+@Component
+public class ModelEndpointPool {
+
+    private final List<ModelEndpoint> endpoints;
+    private final ModelApiProperties.Balancing config;
+    private final RestClient restClient;
+
+    public ModelEndpointPool(ModelApiProperties properties, RestClient restClient) {
+        this.endpoints = properties.endpointUrls().stream().map(ModelEndpoint::new).toList();
+        this.config = properties.getBalancing();
+        this.restClient = restClient;
+        log.info("Réplicas del modelo configuradas: {}", endpoints.stream().map(ModelEndpoint::url).toList());
+    }
+
+    /**
+     * Elige una réplica y la marca con una petición en curso; debe cerrarse con {@link #release}.
+     */
+    public ModelEndpoint acquire() {
+        ModelEndpoint endpoint = choose();
+        endpoint.acquire();
+        return endpoint;
+    }
+
+    public void release(ModelEndpoint endpoint, boolean failed) {
+        endpoint.release();
+        if (!failed) {
+            endpoint.recordCallSuccess();
+            return;
+        }
+        if (endpoints.size() > 1 && endpoint.recordCallFailure() >= config.getFailureEjectionThreshold()) {
+            endpoint.eject(System.nanoTime() + config.getEjectionDuration().toNanos());
+            log.warn("Réplica del modelo {} expulsada durante {} por errores consecutivos",
+                    endpoint.url(), config.getEjectionDuration());
+        }
+    }
+
+    public List<ModelEndpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    /**
+     * Versiones de modelo que sirven las réplicas sanas según su último health check. Durante un
+     * despliegue gradual puede haber más de una.
+     */
+    public Set<String> healthyVersions() {
+        return endpoints.stream()
+                .filter(ModelEndpoint::isHealthy)
+                .map(ModelEndpoint::modelVersion)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    /**
+     * Consulta el health check de todas las réplicas y actualiza su estado.
+     */
+    public void probeEndpoints() {
+        // En paralelo para que una réplica colgada no retrase el chequeo de las demás
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            endpoints.forEach(endpoint -> executor.execute(() -> probe(endpoint)));
+        }
+    }
+
+    private void probe(ModelEndpoint endpoint) {
+        boolean up;
+        try {
+            ModelHealthDTO health = restClient.get()
+                    .uri(endpoint.resolve("/"))
+                    .retrieve()
+                    .body(ModelHealthDTO.class);
+            up = health != null && health.modelLoaded();
+            if (up) {
+                endpoint.setCborSupported(health.supports("cbor"));
+            }
+            endpoint.setModelVersion(up ? health.modelVersion() : null);
+        } catch (Exception e) {
+            log.debug("Health check fallido en {}: {}", endpoint.url(), e.getMessage());
+            endpoint.setModelVersion(null);
+            up = false;
+        }
+
+        if (endpoint.recordProbe(up, config.getUnhealthyThreshold(), config.getHealthyThreshold())) {
+            if (up) {
+                log.info("Réplica del modelo {} readmitida", endpoint.url());
+            } else {
+                log.warn("Réplica del modelo {} marcada como caída", endpoint.url());
+            }
+        }
+    }
+
+    private ModelEndpoint choose() {
+        if (endpoints.size() == 1) {
+            return endpoints.getFirst();
+        }
+
+        long now = System.nanoTime();
+        List<ModelEndpoint> candidates = endpoints.stream().filter(e -> e.isAvailable(now)).toList();
+        if (candidates.isEmpty()) {
+            // Sin réplicas sanas se reparte entre todas antes que rechazar todo el tráfico
+            candidates = endpoints;
+        }
+        if (candidates.size() == 1) {
+            return candidates.getFirst();
+        }
+
+        return switch (config.getStrategy()) {
+            case POWER_OF_TWO_CHOICES -> powerOfTwoChoices(candidates);
+            case LEAST_OUTSTANDING -> leastOutstanding(candidates);
+        };
+    }
+
+    private static ModelEndpoint powerOfTwoChoices(List<ModelEndpoint> candidates) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ModelEndpoint a = candidates.get(first);
+        ModelEndpoint b = candidates.get(second);
+        return a.outstanding() <= b.outstanding() ? a : b;
+    }
+
+    private static ModelEndpoint leastOutstanding(List<ModelEndpoint> candidates) {
+        // Se empieza en una posición aleatoria para repartir los empates
+        int start = ThreadLocalRandom.current().nextInt(candidates.size());
+        ModelEndpoint best = null;
+        for (int i = 0; i < candidates.size(); i++) {
+            ModelEndpoint candidate = candidates.get((start + i) % candidates.size());
+            if (best == null || candidate.outstanding() < best.outstanding()) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+}
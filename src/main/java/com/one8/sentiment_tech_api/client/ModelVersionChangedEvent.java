@@ -0,0 +1,12 @@
+package com.one8.sentiment_tech_api.client;
+
+import java.util.Set;
+
+/**
+ * Se publica cuando cambia el conjunto de versiones de modelo que sirven las réplicas sanas.
+ */
+public record ModelVersionChangedEvent(
+        Set<String> previousVersions,
+        Set<String> currentVersions
+) {
+}
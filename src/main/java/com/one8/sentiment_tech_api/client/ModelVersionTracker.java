@@ -0,0 +1,50 @@
+package com.one8.sentiment_tech_api.client;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Sigue las versiones de modelo que anuncian las réplicas sanas en los health checks de
+ * {@link ModelEndpointPool} y publica un {@link ModelVersionChangedEvent} cuando cambia ese
+ * conjunto. No llama al microservicio: así no cuenta como petición en curso de ninguna réplica y
+ * durante un despliegue gradual no alterna entre versiones según la réplica que toque.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "model.engine", havingValue = "remote", matchIfMissing = true)
+@RequiredArgsConstructor
+public class ModelVersionTracker {
+
+    private final ModelEndpointPool endpointPool;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final AtomicReference<Set<String>> currentVersions = new AtomicReference<>();
+
+    @Scheduled(fixedDelayString = "${model.api.version-check-interval:30s}")
+    public void checkVersion() {
+        updateVersions(endpointPool.healthyVersions());
+    }
+
+    public Set<String> getCurrentVersions() {
+        return currentVersions.get();
+    }
+
+    void updateVersions(Set<String> versions) {
+        // Sin réplicas sanas no se sabe qué versión hay: se conserva la última conocida
+        if (versions.isEmpty()) {
+            return;
+        }
+        Set<String> previous = currentVersions.getAndSet(Set.copyOf(versions));
+        if (previous != null && !previous.equals(versions)) {
+            log.info("Versiones del modelo actualizadas: {} -> {}", previous, versions);
+            eventPublisher.publishEvent(new ModelVersionChangedEvent(previous, versions));
+        }
+    }
+}
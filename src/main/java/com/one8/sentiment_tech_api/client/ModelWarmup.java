@@ -0,0 +1,119 @@
+package com.one8.sentiment_tech_api.client;
+
+import com.one8.sentiment_tech_api.config.WarmupProperties;
+import com.one8.sentiment_tech_api.dtos.response.ApiResponse;
+import com.one8.sentiment_tech_api.dtos.response.SentimentResponseDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Calienta el camino de predicción antes de que el pod reciba tráfico: abre conexiones keep-alive con
+ * cada réplica y repite /predict y /predict/batch hasta que el JIT compile el cliente HTTP y la
+ * serialización. Corre como {@link ApplicationRunner}, así Spring Boot publica la readiness
+ * ACCEPTING_TRAFFIC recién al terminar. No pasa por la caché ni guarda logs.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.warmup.enabled", havingValue = "true")
+public class ModelWarmup implements ApplicationRunner {
+
+    private static final List<String> TEXTS = List.of(
+            "El producto llegó a tiempo y funciona perfecto",
+            "No me gustó nada, la atención fue pésima",
+            "Está bien, cumple lo que promete",
+            "El envío tardó más de lo esperado pero el producto es bueno",
+            "Jamás volveré a comprar aquí",
+            "Gracias por la rápida respuesta, problema resuelto"
+    );
+    private static final int BATCH_EVERY = 8;
+    private static final int BATCH_SIZE = 32;
+
+    private final ModelApiClient modelApiClient;
+    private final ModelEndpointPool endpointPool;
+    private final JsonMapper jsonMapper;
+    private final WarmupProperties properties;
+    private final String engine;
+
+    public ModelWarmup(ModelApiClient modelApiClient, ModelEndpointPool endpointPool, JsonMapper jsonMapper,
+                       WarmupProperties properties, @Value("${model.engine:remote}") String engine) {
+        this.modelApiClient = modelApiClient;
+        this.endpointPool = endpointPool;
+        this.jsonMapper = jsonMapper;
+        this.properties = properties;
+        this.engine = engine;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!"remote".equals(engine)) {
+            log.info("Warm-up omitido: el motor {} no llama al microservicio", engine);
+            return;
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + properties.getTimeout().toNanos();
+        // Primer health check ya, para usar desde el warm-up el mismo formato (JSON/CBOR) que el tráfico real
+        endpointPool.probeEndpoints();
+        try {
+            int primed = primeConnections(deadline);
+            int calls = exercise(deadline);
+            log.info("Warm-up completado en {} ms: {} conexiones abiertas, {} llamadas al modelo",
+                    Duration.ofNanos(System.nanoTime() - start).toMillis(), primed, calls);
+        } catch (Exception e) {
+            log.warn("Warm-up interrumpido tras {} ms, el pod se declara listo igual: {}",
+                    Duration.ofNanos(System.nanoTime() - start).toMillis(), e.getMessage());
+        }
+    }
+
+    /**
+     * Una llamada concurrente por conexión; al terminar quedan todas libres en el pool como keep-alive.
+     */
+    private int primeConnections(long deadline) throws InterruptedException, ExecutionException {
+        int calls = properties.getConnections() * endpointPool.getEndpoints().size();
+        List<Callable<SentimentResponseDTO>> tasks = IntStream.range(0, calls)
+                .mapToObj(i -> (Callable<SentimentResponseDTO>) () -> modelApiClient.predict(TEXTS.get(i % TEXTS.size())))
+                .toList();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Future<SentimentResponseDTO> future : executor.invokeAll(tasks, remaining(deadline), TimeUnit.NANOSECONDS)) {
+                future.get();
+            }
+        }
+        return calls;
+    }
+
+    private int exercise(long deadline) {
+        List<String> batch = IntStream.range(0, BATCH_SIZE).mapToObj(i -> TEXTS.get(i % TEXTS.size())).toList();
+        int calls = 0;
+        for (int i = 0; i < properties.getIterations() && remaining(deadline) > 0; i++) {
+            SentimentResponseDTO response = modelApiClient.predict(TEXTS.get(i % TEXTS.size()));
+            // Misma serialización que hace el controlador con la respuesta de POST /sentiment
+            jsonMapper.writeValueAsBytes(ApiResponse.<SentimentResponseDTO>builder().success(true).data(response).build());
+            calls++;
+            if (i % BATCH_EVERY == 0) {
+                modelApiClient.predictBatch(batch);
+                calls++;
+            }
+        }
+        return calls;
+    }
+
+    private static long remaining(long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+}
@@ -0,0 +1,59 @@
+package com.one8.sentiment_tech_api.client;
+
+import com.one8.sentiment_tech_api.config.ModelApiProperties;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+/**
+ * Codificación de los cuerpos de /predict y /predict/batch. Se usa CBOR solo con las réplicas
+ * que lo anuncian en su health check ({@code wire_formats}); con el resto, o si se configura
+ * {@code model.api.transport.wire-format=JSON}, se sigue usando JSON. La respuesta se decodifica
+ * según su Content-Type, así una réplica puede contestar en JSON aunque se le haya enviado CBOR.
+ */
+@Component
+public class ModelWireCodec {
+
+    static final String CBOR_ACCEPT = MediaType.APPLICATION_CBOR_VALUE + ", " + MediaType.APPLICATION_JSON_VALUE + ";q=0.5";
+
+    private final JsonMapper jsonMapper;
+    private final CBORMapper cborMapper;
+    private final ModelApiProperties.Transport.WireFormat preferred;
+
+    public ModelWireCodec(JsonMapper jsonMapper, ModelApiProperties properties) {
+        this.jsonMapper = jsonMapper;
+        this.cborMapper = CBORMapper.builder().build();
+        this.preferred = properties.getTransport().getWireFormat();
+    }
+
+    /**
+     * Content-Type del cuerpo que se envía a la réplica.
+     */
+    public MediaType requestType(ModelEndpoint endpoint) {
+        return preferred == ModelApiProperties.Transport.WireFormat.CBOR && endpoint.supportsCbor()
+                ? MediaType.APPLICATION_CBOR
+                : MediaType.APPLICATION_JSON;
+    }
+
+    /**
+     * Accept acorde al formato del cuerpo, con JSON siempre aceptado como alternativa.
+     */
+    public String accept(MediaType requestType) {
+        return MediaType.APPLICATION_CBOR.equals(requestType) ? CBOR_ACCEPT : MediaType.APPLICATION_JSON_VALUE;
+    }
+
+    public byte[] encode(Object body, MediaType type) {
+        return mapper(type).writeValueAsBytes(body);
+    }
+
+    public <T> T decode(byte[] body, String contentType, Class<T> type) {
+        MediaType mediaType = contentType != null ? MediaType.parseMediaType(contentType) : MediaType.APPLICATION_JSON;
+        return mapper(mediaType).readValue(body, type);
+    }
+
+    private ObjectMapper mapper(MediaType type) {
+        return MediaType.APPLICATION_CBOR.isCompatibleWith(type) ? cborMapper : jsonMapper;
+    }
+}
@@ -0,0 +1,64 @@
+package com.one8.sentiment_tech_api.client;
+
+import com.one8.sentiment_tech_api.client.resilience.TrafficClass;
+import com.one8.sentiment_tech_api.client.resilience.TrafficContext;
+import com.one8.sentiment_tech_api.dtos.response.SentimentResponseDTO;
+import com.one8.sentiment_tech_api.metrics.SentimentMetrics;
+import com.one8.sentiment_tech_api.nlp.TextNormalizer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight por texto normalizado ({@link TextNormalizer}, igual que la caché): mientras una
+ * llamada al modelo está en curso, las predicciones del mismo texto esperan su resultado en lugar de
+ * hacer otra. La entrada se quita al terminar la llamada, así que no guarda resultados: eso es tarea
+ * de la caché. Las llamadas se comparten solo dentro del mismo {@link TrafficClass}: una petición
+ * interactiva no espera un vuelo que va por el carril batch.
+ */
+@Component
+@RequiredArgsConstructor
+public class PredictionCoalescer {
+
+    private final ConcurrentMap<FlightKey, CompletableFuture<SentimentResponseDTO>> inFlight = new ConcurrentHashMap<>();
+    private final SentimentMetrics metrics;
+
+    /**
+     * Devuelve el resultado de la llamada en curso para el mismo texto y el tipo de tráfico del hilo
+     * actual ({@link TrafficContext}) o, si no hay ninguna, inicia una con {@code call}. Cada
+     * invocación recibe su propia copia del futuro, así cancelar una no afecta a las demás.
+     */
+    public CompletableFuture<SentimentResponseDTO> coalesce(String text, Supplier<CompletableFuture<SentimentResponseDTO>> call) {
+        FlightKey key = new FlightKey(TrafficContext.current(), TextNormalizer.normalize(text));
+        CompletableFuture<SentimentResponseDTO> flight = new CompletableFuture<>();
+        CompletableFuture<SentimentResponseDTO> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            metrics.recordCoalesced();
+            return existing.copy();
+        }
+
+        CompletableFuture<SentimentResponseDTO> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((response, error) -> {
+            // Se quita antes de completar: quien llegue después inicia una llamada nueva
+            inFlight.remove(key, flight);
+            if (error != null) {
+                flight.completeExceptionally(error);
+            } else {
+                flight.complete(response);
+            }
+        });
+        return flight.copy();
+    }
+
+    private record FlightKey(TrafficClass trafficClass, String normalizedText) {
+    }
+}
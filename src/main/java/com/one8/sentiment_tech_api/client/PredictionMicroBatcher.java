@@ -0,0 +1,235 @@
+package com.one8.sentiment_tech_api.client;
+
+import com.one8.sentiment_tech_api.client.resilience.ModelCallGuard;
+import com.one8.sentiment_tech_api.client.resilience.TrafficClass;
+import com.one8.sentiment_tech_api.client.resilience.TrafficContext;
+import com.one8.sentiment_tech_api.config.ModelApiProperties;
+import com.one8.sentiment_tech_api.dtos.response.SentimentResponseDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Agrupa predicciones individuales concurrentes en una sola llamada a /predict/batch.
+ * Un lote se envía al alcanzar {@code model.api.batching.max-batch-size} textos o cuando
+ * pasa {@code model.api.batching.max-wait} desde el primer texto encolado.
+ * Cada {@link TrafficClass} tiene su propia cola, de modo que un CSV grande no retrasa
+ * las peticiones interactivas ni comparte lote con ellas. Un lote lleva textos de un solo tenant:
+ * el tenant de cada texto se guarda al encolarlo y se pasa a {@link ModelCallGuard}, porque los
+ * hilos que envían los lotes no tienen {@link TrafficContext}. Con {@code model.api.async.enabled}
+ * los lotes se envían con {@link AsyncModelApiClient} y ningún hilo espera la respuesta.
+ */
+@Slf4j
+@Component
+public class PredictionMicroBatcher {
+
+    private final ModelApiClient modelApiClient;
+    private final AsyncModelApiClient asyncModelApiClient;
+    private final ModelCallGuard modelCallGuard;
+    private final ModelApiProperties properties;
+
+    private final Map<TrafficClass, Lane> lanes = new EnumMap<>(TrafficClass.class);
+    private final ExecutorService dispatcher = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile boolean running;
+
+    public PredictionMicroBatcher(ModelApiClient modelApiClient, Optional<AsyncModelApiClient> asyncModelApiClient,
+                                  ModelCallGuard modelCallGuard, ModelApiProperties properties) {
+        this.modelApiClient = modelApiClient;
+        this.asyncModelApiClient = asyncModelApiClient.orElse(null);
+        this.modelCallGuard = modelCallGuard;
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        for (TrafficClass trafficClass : TrafficClass.values()) {
+            Lane lane = new Lane(trafficClass, resultTimeout(trafficClass));
+            lane.collector = Thread.ofPlatform()
+                    .name("model-micro-batcher-" + trafficClass.tag())
+                    .daemon(true)
+                    .start(() -> collectLoop(lane));
+            lanes.put(trafficClass, lane);
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        for (Lane lane : lanes.values()) {
+            lane.collector.interrupt();
+        }
+        for (Lane lane : lanes.values()) {
+            lane.collector.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        dispatcher.close();
+
+        for (Lane lane : lanes.values()) {
+            List<PendingPrediction> leftovers = new ArrayList<>();
+            lane.queue.drainTo(leftovers);
+            byTenant(leftovers).forEach((tenant, batch) -> dispatch(lane.trafficClass, tenant, batch));
+        }
+    }
+
+    /**
+     * Encola el texto en la cola del tipo de tráfico del hilo actual ({@link TrafficContext}).
+     * El futuro falla con {@link java.util.concurrent.TimeoutException} si el lote no responde en
+     * lo que pueden tardar la espera del lote, la del bulkhead y la llamada HTTP, de modo que
+     * nadie queda esperando para siempre aunque el lote se pierda.
+     */
+    public CompletableFuture<SentimentResponseDTO> submit(String text) {
+        PendingPrediction pending = new PendingPrediction(text, TrafficContext.currentTenant(), new CompletableFuture<>());
+        if (!running) {
+            pending.result().completeExceptionally(stopped());
+            return pending.result();
+        }
+        Lane lane = lanes.get(TrafficContext.current());
+        lane.queue.add(pending);
+        // stop() pudo vaciar la cola entre la comprobación y el add: lo que quedó no lo envía nadie
+        if (!running && lane.queue.remove(pending)) {
+            pending.result().completeExceptionally(stopped());
+        }
+        return pending.result().orTimeout(lane.resultTimeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private void collectLoop(Lane lane) {
+        int maxBatchSize = Math.max(1, properties.getBatching().getMaxBatchSize());
+        long maxWaitNanos = properties.getBatching().getMaxWait().toNanos();
+        BlockingQueue<PendingPrediction> queue = lane.queue;
+
+        while (running) {
+            List<PendingPrediction> batch = new ArrayList<>(maxBatchSize);
+            try {
+                PendingPrediction first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxWaitNanos;
+
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    PendingPrediction next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                queue.drainTo(batch, maxBatchSize - batch.size());
+
+                byTenant(batch).forEach((tenant, tenantBatch) -> send(lane.trafficClass, tenant, tenantBatch));
+            } catch (RuntimeException e) {
+                // El colector sigue aunque falle el armado del lote; los envíos ya capturan sus propios errores
+                log.error("Error al armar un lote {} de {} textos: {}", lane.trafficClass.tag(), batch.size(), e.getMessage());
+                batch.forEach(pending -> pending.result().completeExceptionally(e));
+            } catch (InterruptedException e) {
+                // Apagado: el lote a medio armar se envía antes de salir
+                byTenant(batch).forEach((tenant, tenantBatch) -> dispatch(lane.trafficClass, tenant, tenantBatch));
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static Map<String, List<PendingPrediction>> byTenant(List<PendingPrediction> batch) {
+        return batch.stream().collect(Collectors.groupingBy(PendingPrediction::tenant, LinkedHashMap::new, Collectors.toList()));
+    }
+
+    private void send(TrafficClass trafficClass, String tenant, List<PendingPrediction> batch) {
+        try {
+            if (asyncModelApiClient != null) {
+                dispatchAsync(trafficClass, tenant, batch);
+            } else {
+                dispatcher.execute(() -> dispatch(trafficClass, tenant, batch));
+            }
+        } catch (RuntimeException e) {
+            // Un fallo al enviar un lote no puede detener el colector: los siguientes quedarían sin enviar
+            log.error("Error al enviar un lote {} de {} textos: {}", trafficClass.tag(), batch.size(), e.getMessage());
+            batch.forEach(pending -> pending.result().completeExceptionally(e));
+        }
+    }
+
+    private void dispatch(TrafficClass trafficClass, String tenant, List<PendingPrediction> batch) {
+        List<String> texts = batch.stream().map(PendingPrediction::text).toList();
+        try {
+            List<SentimentResponseDTO> predictions =
+                    modelCallGuard.execute(trafficClass, tenant, () -> modelApiClient.predictBatch(texts));
+            log.debug("Lote {} de {} textos enviado al modelo", trafficClass.tag(), texts.size());
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(predictions.get(i));
+            }
+        } catch (Exception e) {
+            log.error("Error en la llamada batch al modelo ({} textos): {}", texts.size(), e.getMessage());
+            batch.forEach(pending -> pending.result().completeExceptionally(e));
+        }
+    }
+
+    private void dispatchAsync(TrafficClass trafficClass, String tenant, List<PendingPrediction> batch) {
+        List<String> texts = batch.stream().map(PendingPrediction::text).toList();
+        modelCallGuard.executeAsync(trafficClass, tenant, () -> asyncModelApiClient.predictBatch(texts))
+                .whenComplete((predictions, error) -> {
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                        log.error("Error en la llamada batch al modelo ({} textos): {}", texts.size(), cause.getMessage());
+                        batch.forEach(pending -> pending.result().completeExceptionally(cause));
+                        return;
+                    }
+                    log.debug("Lote {} de {} textos enviado al modelo", trafficClass.tag(), texts.size());
+                    for (int i = 0; i < batch.size(); i++) {
+                        batch.get(i).result().complete(predictions.get(i));
+                    }
+                });
+    }
+
+    /**
+     * Cota de la espera de un texto encolado: armado del lote, dos esperas del bulkhead (cupo y
+     * permiso del limitador), conexión del pool, conexión TCP y lectura de la respuesta.
+     */
+    private Duration resultTimeout(TrafficClass trafficClass) {
+        ModelApiProperties.Transport transport = properties.getTransport();
+        return properties.getBatching().getMaxWait()
+                .plus(modelCallGuard.maxWait(trafficClass).multipliedBy(2))
+                .plus(transport.getConnectionRequestTimeout())
+                .plus(transport.getConnectTimeout())
+                .plus(transport.getReadTimeout());
+    }
+
+    private static IllegalStateException stopped() {
+        return new IllegalStateException("El micro-batcher está detenido");
+    }
+
+    private static final class Lane {
+        private final TrafficClass trafficClass;
+        private final Duration resultTimeout;
+        private final BlockingQueue<PendingPrediction> queue = new LinkedBlockingQueue<>();
+        private Thread collector;
+
+        private Lane(TrafficClass trafficClass, Duration resultTimeout) {
+            this.trafficClass = trafficClass;
+            this.resultTimeout = resultTimeout;
+        }
+    }
+
+    private record PendingPrediction(String text, String tenant, CompletableFuture<SentimentResponseDTO> result) {
+    }
+}
@@ -0,0 +1,108 @@
+package com.one8.sentiment_tech_api.client.resilience;
+
+import com.one8.sentiment_tech_api.config.ResilienceProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Límite global de llamadas en vuelo al modelo que se ajusta con AIMD según la latencia observada:
+ * +1 por respuesta rápida mientras el límite está en uso, y ×{@code backoff-ratio} ante un error
+ * o una respuesta más lenta que {@code latency-tolerance} veces la mínima reciente.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private final ResilienceProperties.Limiter config;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile int limit;
+    private volatile int inFlight;
+    private long minLatencyNanos = Long.MAX_VALUE;
+    private int samplesSinceReset;
+
+    public AdaptiveConcurrencyLimiter(ResilienceProperties properties, MeterRegistry meterRegistry) {
+        this.config = properties.getLimiter();
+        this.limit = clamp(config.getInitialLimit());
+        Gauge.builder("model.limiter.limit", this, limiter -> limiter.limit).register(meterRegistry);
+        Gauge.builder("model.limiter.inflight", this, limiter -> limiter.inFlight).register(meterRegistry);
+    }
+
+    /**
+     * Toma un permiso si hay lugar bajo el límite actual, sin esperar; las esperas las ordena
+     * {@link ModelCallScheduler}.
+     */
+    public boolean tryAcquire() {
+        if (!config.isEnabled()) {
+            return true;
+        }
+        lock.lock();
+        try {
+            if (inFlight >= limit) {
+                return false;
+            }
+            inFlight++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onSuccess(long latencyNanos) {
+        release(latencyNanos, false);
+    }
+
+    public void onDropped() {
+        release(0, true);
+    }
+
+    /**
+     * Libera el permiso sin ajustar el límite (p. ej. error 4xx, que no refleja carga del modelo).
+     */
+    public void onIgnored() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        lock.lock();
+        try {
+            inFlight--;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(long latencyNanos, boolean dropped) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        lock.lock();
+        try {
+            int current = inFlight--;
+            if (dropped || isSlow(latencyNanos)) {
+                limit = clamp((int) (limit * config.getBackoffRatio()));
+            } else if (current * 2 >= limit) {
+                // Solo se crece si el límite se está usando; con poca carga no hay evidencia
+                limit = clamp(limit + 1);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isSlow(long latencyNanos) {
+        if (++samplesSinceReset >= config.getMinLatencyResetSamples()) {
+            // Se vuelve a medir la base por si la latencia normal del modelo cambió
+            samplesSinceReset = 0;
+            minLatencyNanos = latencyNanos;
+            return false;
+        }
+        minLatencyNanos = Math.min(minLatencyNanos, latencyNanos);
+        return latencyNanos > minLatencyNanos * config.getLatencyTolerance();
+    }
+
+    private int clamp(int value) {
+        return Math.max(config.getMinLimit(), Math.min(config.getMaxLimit(), value));
+    }
+}
@@ -0,0 +1,71 @@
+package com.one8.sentiment_tech_api.client.resilience;
+
+import com.one8.sentiment_tech_api.config.ResilienceProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cupos separados de llamadas simultáneas al modelo por {@link TrafficClass}.
+ */
+@Component
+public class ModelBulkhead {
+
+    private final Map<TrafficClass, Semaphore> permits = new EnumMap<>(TrafficClass.class);
+    private final Map<TrafficClass, Duration> maxWaits = new EnumMap<>(TrafficClass.class);
+    private final Map<TrafficClass, Counter> rejections = new EnumMap<>(TrafficClass.class);
+
+    public ModelBulkhead(ResilienceProperties properties, MeterRegistry meterRegistry) {
+        ResilienceProperties.Bulkhead config = properties.getBulkhead();
+        register(TrafficClass.INTERACTIVE, config.getInteractiveMaxConcurrent(), config.getInteractiveMaxWait(), meterRegistry);
+        register(TrafficClass.BATCH, config.getBatchMaxConcurrent(), config.getBatchMaxWait(), meterRegistry);
+    }
+
+    public Duration maxWait(TrafficClass trafficClass) {
+        return maxWaits.get(trafficClass);
+    }
+
+    public boolean tryAcquire(TrafficClass trafficClass) throws InterruptedException {
+        boolean acquired = permits.get(trafficClass)
+                .tryAcquire(maxWaits.get(trafficClass).toNanos(), TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            rejections.get(trafficClass).increment();
+        }
+        return acquired;
+    }
+
+    /**
+     * Variante sin espera para el camino no bloqueante: la espera la hace {@link ModelCallScheduler}.
+     */
+    public boolean tryAcquireNow(TrafficClass trafficClass) {
+        boolean acquired = permits.get(trafficClass).tryAcquire();
+        if (!acquired) {
+            rejections.get(trafficClass).increment();
+        }
+        return acquired;
+    }
+
+    public void release(TrafficClass trafficClass) {
+        permits.get(trafficClass).release();
+    }
+
+    private void register(TrafficClass trafficClass, int maxConcurrent, Duration maxWait, MeterRegistry meterRegistry) {
+        Semaphore semaphore = new Semaphore(Math.max(1, maxConcurrent), true);
+        permits.put(trafficClass, semaphore);
+        maxWaits.put(trafficClass, maxWait);
+        rejections.put(trafficClass, Counter.builder("model.bulkhead.rejected")
+                .tag("class", trafficClass.tag())
+                .description("Llamadas al modelo rechazadas por bulkhead lleno")
+                .register(meterRegistry));
+        Gauge.builder("model.bulkhead.available", semaphore, Semaphore::availablePermits)
+                .tag("class", trafficClass.tag())
+                .register(meterRegistry);
+    }
+}
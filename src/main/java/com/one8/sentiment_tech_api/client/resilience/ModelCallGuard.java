@@ -0,0 +1,150 @@
+package com.one8.sentiment_tech_api.client.resilience;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Envuelve cada llamada HTTP al modelo con circuit breaker, bulkhead por tipo de tráfico y
+ * límite adaptativo de concurrencia, cuyos permisos reparte {@link ModelCallScheduler} entre el
+ * tráfico interactivo y el batch. Las llamadas rechazadas lanzan {@link ModelCallRejectedException}
+ * sin llegar al modelo.
+ */
+@Component
+@RequiredArgsConstructor
+public class ModelCallGuard {
+
+    private final ModelCircuitBreaker circuitBreaker;
+    private final ModelBulkhead bulkhead;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ModelCallScheduler scheduler;
+
+    /**
+     * Lo que una llamada puede esperar en cada etapa (bulkhead y limitador) antes de ser rechazada.
+     */
+    public Duration maxWait(TrafficClass trafficClass) {
+        return bulkhead.maxWait(trafficClass);
+    }
+
+    public <T> T execute(TrafficClass trafficClass, Supplier<T> call) {
+        return execute(trafficClass, TrafficContext.currentTenant(), call);
+    }
+
+    /**
+     * Igual que {@link #execute(TrafficClass, Supplier)} con el tenant explícito, para las llamadas
+     * que se hacen desde un hilo sin {@link TrafficContext} (p. ej. los lotes del micro-batcher).
+     */
+    public <T> T execute(TrafficClass trafficClass, String tenant, Supplier<T> call) {
+        if (!circuitBreaker.tryAcquire()) {
+            throw new ModelCallRejectedException("Circuito abierto: el modelo no está disponible");
+        }
+
+        boolean called = false;
+        try {
+            if (!bulkhead.tryAcquire(trafficClass)) {
+                throw new ModelCallRejectedException("Demasiadas llamadas " + trafficClass.tag() + " al modelo en curso");
+            }
+            try {
+                if (!scheduler.acquire(trafficClass, tenant, bulkhead.maxWait(trafficClass))) {
+                    throw new ModelCallRejectedException("Límite de concurrencia hacia el modelo alcanzado");
+                }
+                called = true;
+                try {
+                    return invoke(call);
+                } finally {
+                    scheduler.dispatch();
+                }
+            } finally {
+                bulkhead.release(trafficClass);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ModelCallRejectedException("Espera por el modelo interrumpida");
+        } finally {
+            if (!called) {
+                circuitBreaker.onIgnored();
+            }
+        }
+    }
+
+    /**
+     * Versión no bloqueante de {@link #execute}: el bulkhead no espera y la espera por un permiso
+     * del limitador se resuelve con un futuro. Los rechazos completan el futuro con
+     * {@link ModelCallRejectedException}.
+     */
+    public <T> CompletableFuture<T> executeAsync(TrafficClass trafficClass, Supplier<CompletableFuture<T>> call) {
+        return executeAsync(trafficClass, TrafficContext.currentTenant(), call);
+    }
+
+    public <T> CompletableFuture<T> executeAsync(TrafficClass trafficClass, String tenant,
+                                                 Supplier<CompletableFuture<T>> call) {
+        if (!circuitBreaker.tryAcquire()) {
+            return CompletableFuture.failedFuture(new ModelCallRejectedException("Circuito abierto: el modelo no está disponible"));
+        }
+        if (!bulkhead.tryAcquireNow(trafficClass)) {
+            circuitBreaker.onIgnored();
+            return CompletableFuture.failedFuture(
+                    new ModelCallRejectedException("Demasiadas llamadas " + trafficClass.tag() + " al modelo en curso"));
+        }
+
+        return scheduler.acquireAsync(trafficClass, tenant, bulkhead.maxWait(trafficClass))
+                .thenCompose(acquired -> {
+                    if (!acquired) {
+                        circuitBreaker.onIgnored();
+                        return CompletableFuture.<T>failedFuture(
+                                new ModelCallRejectedException("Límite de concurrencia hacia el modelo alcanzado"));
+                    }
+                    return invokeAsync(call);
+                })
+                .whenComplete((result, error) -> bulkhead.release(trafficClass));
+    }
+
+    private <T> CompletableFuture<T> invokeAsync(Supplier<CompletableFuture<T>> call) {
+        long start = System.nanoTime();
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+
+        return future.whenComplete((result, error) -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause == null) {
+                limiter.onSuccess(System.nanoTime() - start);
+                circuitBreaker.onSuccess();
+            } else if (cause instanceof HttpClientErrorException) {
+                limiter.onIgnored();
+                circuitBreaker.onIgnored();
+            } else {
+                limiter.onDropped();
+                circuitBreaker.onFailure();
+            }
+            scheduler.dispatch();
+        });
+    }
+
+    private <T> T invoke(Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            limiter.onSuccess(System.nanoTime() - start);
+            circuitBreaker.onSuccess();
+            return result;
+        } catch (HttpClientErrorException e) {
+            // Un 4xx es un problema de la petición, no del modelo
+            limiter.onIgnored();
+            circuitBreaker.onIgnored();
+            throw e;
+        } catch (RuntimeException e) {
+            limiter.onDropped();
+            circuitBreaker.onFailure();
+            throw e;
+        }
+    }
+}
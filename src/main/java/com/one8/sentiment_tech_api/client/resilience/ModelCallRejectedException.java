@@ -0,0 +1,11 @@
+package com.one8.sentiment_tech_api.client.resilience;
+
+/**
+ * La llamada al modelo se rechazó sin enviarse (circuito abierto, bulkhead lleno o límite alcanzado).
+ */
+public class ModelCallRejectedException extends RuntimeException {
+
+    public ModelCallRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,270 @@
+package com.one8.sentiment_tech_api.client.resilience;
+
+import com.one8.sentiment_tech_api.config.ResilienceProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cola de espera por los permisos del {@link AdaptiveConcurrencyLimiter}, con un carril por
+ * {@link TrafficClass}. Cuando se libera un permiso y hay llamadas esperando, el carril se elige por
+ * reparto ponderado (stride scheduling): con los pesos por defecto, 9 de cada 10 permisos van al
+ * tráfico interactivo mientras los dos carriles tengan cola, sin que el batch deje de avanzar.
+ * Dentro de un carril los tenants se atienden por turnos.
+ */
+@Component
+public class ModelCallScheduler {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<TrafficClass, Lane> lanes = new EnumMap<>(TrafficClass.class);
+    /**
+     * Pase del último carril atendido; un carril que vuelve a tener cola arranca desde aquí y no
+     * acumula crédito por el tiempo que estuvo vacío.
+     */
+    private double virtualTime;
+
+    public ModelCallScheduler(ResilienceProperties properties, AdaptiveConcurrencyLimiter limiter,
+                              MeterRegistry meterRegistry) {
+        this.limiter = limiter;
+        ResilienceProperties.Scheduler config = properties.getScheduler();
+        register(TrafficClass.INTERACTIVE, config.getInteractiveWeight(), meterRegistry);
+        register(TrafficClass.BATCH, config.getBatchWeight(), meterRegistry);
+    }
+
+    /**
+     * Obtiene un permiso del limitador esperando como máximo {@code maxWait} en el carril del tipo de
+     * tráfico. Quien lo obtiene debe devolverlo al limitador y luego llamar a {@link #dispatch()}.
+     */
+    public boolean acquire(TrafficClass trafficClass, String tenant, Duration maxWait) throws InterruptedException {
+        Lane lane = lanes.get(trafficClass);
+        long start = System.nanoTime();
+        lock.lockInterruptibly();
+        try {
+            if (isIdle() && limiter.tryAcquire()) {
+                return true;
+            }
+
+            Waiter waiter = new Waiter(tenant, lock.newCondition(), null);
+            lane.add(waiter, virtualTime);
+            dispatchLocked();
+
+            long remaining = maxWait.toNanos();
+            try {
+                while (!waiter.granted) {
+                    if (remaining <= 0) {
+                        lane.remove(waiter);
+                        lane.rejected.increment();
+                        return false;
+                    }
+                    remaining = waiter.condition.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                if (waiter.granted) {
+                    limiter.onIgnored();
+                    dispatchLocked();
+                } else {
+                    lane.remove(waiter);
+                }
+                throw e;
+            }
+            return true;
+        } finally {
+            lane.waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Igual que {@link #acquire} pero sin bloquear: el futuro se completa con true al obtener el
+     * permiso o con false al vencer {@code maxWait}.
+     */
+    public CompletableFuture<Boolean> acquireAsync(TrafficClass trafficClass, String tenant, Duration maxWait) {
+        Lane lane = lanes.get(trafficClass);
+        long start = System.nanoTime();
+        CompletableFuture<Boolean> granted = new CompletableFuture<>();
+        granted.whenComplete((acquired, error) -> lane.waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+
+        Waiter waiter;
+        lock.lock();
+        try {
+            if (isIdle() && limiter.tryAcquire()) {
+                granted.complete(true);
+                return granted;
+            }
+            waiter = new Waiter(tenant, granted);
+            lane.add(waiter, virtualTime);
+            dispatchLocked();
+        } finally {
+            lock.unlock();
+        }
+
+        CompletableFuture.delayedExecutor(maxWait.toNanos(), TimeUnit.NANOSECONDS).execute(() -> {
+            lock.lock();
+            try {
+                if (waiter.granted) {
+                    return;
+                }
+                lane.remove(waiter);
+                lane.rejected.increment();
+            } finally {
+                lock.unlock();
+            }
+            granted.complete(false);
+        });
+        return granted;
+    }
+
+    /**
+     * Entrega los permisos libres del limitador a las llamadas en espera.
+     */
+    public void dispatch() {
+        lock.lock();
+        try {
+            dispatchLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void dispatchLocked() {
+        while (true) {
+            Lane next = null;
+            for (Lane lane : lanes.values()) {
+                if (lane.size > 0 && (next == null || lane.pass < next.pass)) {
+                    next = lane;
+                }
+            }
+            if (next == null || !limiter.tryAcquire()) {
+                return;
+            }
+            virtualTime = next.pass;
+            next.pass += next.stride;
+
+            next.poll().grant();
+        }
+    }
+
+    private boolean isIdle() {
+        for (Lane lane : lanes.values()) {
+            if (lane.size > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void register(TrafficClass trafficClass, int weight, MeterRegistry meterRegistry) {
+        Lane lane = new Lane(1.0 / Math.max(1, weight),
+                Timer.builder("model.scheduler.wait")
+                        .tag("class", trafficClass.tag())
+                        .description("Espera en cola hasta obtener un permiso para llamar al modelo")
+                        .register(meterRegistry),
+                Counter.builder("model.scheduler.rejected")
+                        .tag("class", trafficClass.tag())
+                        .description("Llamadas al modelo que no obtuvieron permiso dentro de su espera máxima")
+                        .register(meterRegistry));
+        lanes.put(trafficClass, lane);
+        Gauge.builder("model.scheduler.queued", lane, queued -> queued.size)
+                .tag("class", trafficClass.tag())
+                .description("Llamadas al modelo esperando permiso")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Cola de un tipo de tráfico, con una sub-cola por tenant atendidas por turnos.
+     */
+    private static final class Lane {
+        private final double stride;
+        private final Timer waitTimer;
+        private final Counter rejected;
+        private final Map<String, Deque<Waiter>> waitersByTenant = new HashMap<>();
+        private final Deque<String> turns = new ArrayDeque<>();
+        private double pass;
+        private volatile int size;
+
+        private Lane(double stride, Timer waitTimer, Counter rejected) {
+            this.stride = stride;
+            this.waitTimer = waitTimer;
+            this.rejected = rejected;
+        }
+
+        private void add(Waiter waiter, double virtualTime) {
+            if (size == 0) {
+                pass = Math.max(pass, virtualTime);
+            }
+            waitersByTenant.computeIfAbsent(waiter.tenant, tenant -> {
+                turns.addLast(tenant);
+                return new ArrayDeque<>();
+            }).addLast(waiter);
+            size++;
+        }
+
+        private Waiter poll() {
+            String tenant = turns.pollFirst();
+            Deque<Waiter> waiters = waitersByTenant.get(tenant);
+            Waiter waiter = waiters.pollFirst();
+            if (waiters.isEmpty()) {
+                waitersByTenant.remove(tenant);
+            } else {
+                turns.addLast(tenant);
+            }
+            size--;
+            return waiter;
+        }
+
+        private void remove(Waiter waiter) {
+            Deque<Waiter> waiters = waitersByTenant.get(waiter.tenant);
+            if (waiters != null && waiters.remove(waiter)) {
+                size--;
+                if (waiters.isEmpty()) {
+                    waitersByTenant.remove(waiter.tenant);
+                    turns.remove(waiter.tenant);
+                }
+            }
+        }
+    }
+
+    /**
+     * Llamada en espera: bloqueante (condition) o asíncrona (future).
+     */
+    private static final class Waiter {
+        private final String tenant;
+        private final Condition condition;
+        private final CompletableFuture<Boolean> future;
+        private boolean granted;
+
+        private Waiter(String tenant, Condition condition, CompletableFuture<Boolean> future) {
+            this.tenant = tenant;
+            this.condition = condition;
+            this.future = future;
+        }
+
+        private Waiter(String tenant, CompletableFuture<Boolean> future) {
+            this(tenant, null, future);
+        }
+
+        private void grant() {
+            granted = true;
+            if (condition != null) {
+                condition.signal();
+            } else {
+                // Fuera del lock: las etapas encadenadas no deben correr mientras se reparte
+                future.completeAsync(() -> true);
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.one8.sentiment_tech_api.client.resilience;
+
+import com.one8.sentiment_tech_api.config.ResilienceProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Circuit breaker por conteo sobre las últimas {@code window-size} llamadas al modelo.
+ * Con el circuito abierto las llamadas fallan de inmediato; pasado {@code open-duration} se
+ * dejan pasar {@code half-open-calls} de prueba y, si todas salen bien, se vuelve a cerrar.
+ */
+@Slf4j
+@Component
+public class ModelCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final ResilienceProperties.CircuitBreaker config;
+    private final boolean[] window;
+    private final Counter rejected;
+    private final Map<State, Counter> transitions = new EnumMap<>(State.class);
+
+    private State state = State.CLOSED;
+    private int recorded;
+    private int position;
+    private int failures;
+    private long openedAtNanos;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    public ModelCircuitBreaker(ResilienceProperties properties, MeterRegistry meterRegistry) {
+        this.config = properties.getCircuitBreaker();
+        this.window = new boolean[Math.max(1, config.getWindowSize())];
+        this.rejected = Counter.builder("model.circuit.rejected")
+                .description("Llamadas al modelo rechazadas con el circuito abierto")
+                .register(meterRegistry);
+        for (State target : State.values()) {
+            transitions.put(target, Counter.builder("model.circuit.transitions")
+                    .tag("to", target.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("model.circuit.state", this, breaker -> breaker.getState().ordinal())
+                .description("Estado del circuito: 0 cerrado, 1 abierto, 2 semiabierto")
+                .register(meterRegistry);
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Indica si la llamada puede enviarse. Cada permiso concedido debe cerrarse con
+     * {@link #onSuccess()}, {@link #onFailure()} o {@link #onIgnored()}.
+     */
+    public synchronized boolean tryAcquire() {
+        if (!config.isEnabled()) {
+            return true;
+        }
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAtNanos < config.getOpenDuration().toNanos()) {
+                rejected.increment();
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits == 0) {
+                rejected.increment();
+                return false;
+            }
+            halfOpenPermits--;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSuccesses >= config.getHalfOpenCalls()) {
+                transitionTo(State.CLOSED);
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (recorded >= config.getMinimumCalls()
+                    && (double) failures / recorded >= config.getFailureRateThreshold()) {
+                transitionTo(State.OPEN);
+            }
+        }
+    }
+
+    /**
+     * La llamada no llegó al modelo o falló por causas ajenas a él: devuelve el permiso sin contarla.
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && halfOpenPermits + halfOpenSuccesses < config.getHalfOpenCalls()) {
+            halfOpenPermits++;
+        }
+    }
+
+    private void record(boolean failure) {
+        if (recorded == window.length) {
+            if (window[position]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        window[position] = failure;
+        if (failure) {
+            failures++;
+        }
+        position = (position + 1) % window.length;
+    }
+
+    private void transitionTo(State target) {
+        log.warn("Circuit breaker del modelo: {} -> {}", state, target);
+        state = target;
+        transitions.get(target).increment();
+
+        switch (target) {
+            case OPEN -> openedAtNanos = System.nanoTime();
+            case HALF_OPEN -> {
+                halfOpenPermits = Math.max(1, config.getHalfOpenCalls());
+                halfOpenSuccesses = 0;
+            }
+            case CLOSED -> {
+                recorded = 0;
+                position = 0;
+                failures = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.one8.sentiment_tech_api.client.resilience;
+
+/**
+ * Origen de una llamada al modelo, usado para aislar el tráfico batch del interactivo.
+ */
+public enum TrafficClass {
+    INTERACTIVE,
+    BATCH;
+
+    public String tag() {
+        return name().toLowerCase();
+    }
+}
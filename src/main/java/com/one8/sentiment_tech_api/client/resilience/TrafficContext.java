@@ -0,0 +1,52 @@
+package com.one8.sentiment_tech_api.client.resilience;
+
+import java.util.function.Supplier;
+
+/**
+ * Tipo de tráfico y tenant del hilo actual. Por defecto es {@link TrafficClass#INTERACTIVE} del tenant
+ * {@link #DEFAULT_TENANT}; el procesamiento batch ejecuta cada fila dentro de
+ * {@link #callAs(TrafficClass, String, Supplier)} con el tenant que subió el archivo.
+ */
+public final class TrafficContext {
+
+    public static final String DEFAULT_TENANT = "default";
+
+    private static final ThreadLocal<Traffic> CURRENT = new ThreadLocal<>();
+
+    private TrafficContext() {
+    }
+
+    public static TrafficClass current() {
+        Traffic traffic = CURRENT.get();
+        return traffic != null ? traffic.trafficClass() : TrafficClass.INTERACTIVE;
+    }
+
+    public static String currentTenant() {
+        Traffic traffic = CURRENT.get();
+        return traffic != null ? traffic.tenant() : DEFAULT_TENANT;
+    }
+
+    /**
+     * Ejecuta la acción con otro tipo de tráfico, conservando el tenant actual.
+     */
+    public static <T> T callAs(TrafficClass trafficClass, Supplier<T> action) {
+        return callAs(trafficClass, currentTenant(), action);
+    }
+
+    public static <T> T callAs(TrafficClass trafficClass, String tenant, Supplier<T> action) {
+        Traffic previous = CURRENT.get();
+        CURRENT.set(new Traffic(trafficClass, tenant == null || tenant.isBlank() ? DEFAULT_TENANT : tenant));
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    private record Traffic(TrafficClass trafficClass, String tenant) {
+    }
+}
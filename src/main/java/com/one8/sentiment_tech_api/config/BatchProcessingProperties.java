@@ -5,6 +5,10 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 import org.springframework.util.unit.DataSize;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
 @Data
 @Component
 @ConfigurationProperties(prefix = "app.batch")
@@ -13,6 +17,47 @@ public class BatchProcessingProperties {
     private DataSize maxFileSize = DataSize.ofMegabytes(10);
     private DataSize maxRequestSize = DataSize.ofMegabytes(10);
     private int minTextLength = 10;
+    /**
+     * Máximo de predicciones simultáneas en vuelo por cada archivo procesado.
+     */
+    private int maxInFlight = 16;
+    /**
+     * Cantidad de filas que se leen y puntúan juntas; acota la memoria usada por archivo.
+     */
+    private int chunkSize = 256;
+    /**
+     * Jobs asíncronos (/sentiment/batch/jobs) que se procesan a la vez.
+     */
+    private int maxConcurrentJobs = 2;
+    /**
+     * Tiempo que un job queda reservado para la instancia que lo procesa sin renovar su lease; al
+     * vencer lo puede retomar otra instancia.
+     */
+    private Duration jobLease = Duration.ofMinutes(2);
+    /**
+     * Cada cuánto se renuevan los leases propios y se buscan jobs sin dueño; menor que job-lease.
+     */
+    private Duration jobLeaseRenewInterval = Duration.ofSeconds(30);
+    /**
+     * Columna del CSV (por nombre de encabezado) con los textos; vacía para detectarla sola.
+     */
+    private String textColumn = "";
+    /**
+     * Máximo de textos en un arreglo JSON de /sentiment/bulk; el NDJSON se procesa en streaming sin este límite.
+     */
+    private int maxBulkItems = 10000;
+    /**
+     * Cabecera con la API key que identifica al tenant de una carga batch.
+     */
+    private String tenantHeader = "X-API-Key";
+    /**
+     * Filas por segundo que cada tenant puede enviar al modelo desde cargas batch; 0 = sin límite.
+     */
+    private double tenantRowsPerSecond = 0;
+    /**
+     * Tenants conocidos por id. Las API keys ausentes o desconocidas comparten el tenant "default".
+     */
+    private Map<String, Tenant> tenants = new HashMap<>();
     private String[] csvExtensions = {".csv"};
     private String[] validContentTypes = {
         "text/csv",
@@ -21,4 +66,16 @@ public class BatchProcessingProperties {
         "application/vnd.ms-excel",
         "application/octet-stream"
     };
-}
\ No newline at end of file
+
+    @Data
+    public static class Tenant {
+        /**
+         * SHA-256 en hexadecimal de la API key del tenant; la clave en sí no se configura ni se guarda.
+         */
+        private String apiKeySha256;
+        /**
+         * Cuota propia que reemplaza a tenant-rows-per-second.
+         */
+        private Double rowsPerSecond;
+    }
+}
@@ -1,20 +1,118 @@
 package com.one8.sentiment_tech_api.config;
 
-import org.springframework.beans.factory.annotation.Value;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.ToDoubleFunction;
+
 @Configuration
+@RequiredArgsConstructor
 public class ClientConfig {
 
-    @Value("${model.api.url}")
-    private String modelApiUrl;
+    private final ModelApiProperties modelApiProperties;
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager modelConnectionManager(MeterRegistry meterRegistry) {
+        ModelApiProperties.Transport transport = modelApiProperties.getTransport();
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(transport.getMaxConnections())
+                .setMaxConnPerRoute(transport.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(timeout(transport.getConnectTimeout()))
+                        .setSocketTimeout(timeout(transport.getReadTimeout()))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(5))
+                        .build())
+                .build();
+
+        // Saturación del pool: conexiones en uso, libres y peticiones esperando una conexión
+        registerPoolGauge(meterRegistry, connectionManager, "leased", PoolStats::getLeased);
+        registerPoolGauge(meterRegistry, connectionManager, "available", PoolStats::getAvailable);
+        registerPoolGauge(meterRegistry, connectionManager, "pending", PoolStats::getPending);
+        registerPoolGauge(meterRegistry, connectionManager, "max", PoolStats::getMax);
+
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient modelHttpClient(PoolingHttpClientConnectionManager modelConnectionManager) {
+        ModelApiProperties.Transport transport = modelApiProperties.getTransport();
+
+        return HttpClients.custom()
+                .setConnectionManager(modelConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(timeout(transport.getConnectionRequestTimeout()))
+                        .setResponseTimeout(timeout(transport.getReadTimeout()))
+                        .build())
+                .setKeepAliveStrategy((response, context) -> TimeValue.ofMilliseconds(transport.getKeepAlive().toMillis()))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(transport.getIdleEviction().toMillis()))
+                .build();
+    }
 
+    /**
+     * El builder de Spring Boot ya registra las métricas http.client.requests (latencia por uri).
+     * Sin baseUrl: cada llamada usa la URL de la réplica elegida por {@code ModelEndpointPool}.
+     */
     @Bean
-    public RestClient restClient() {
-        return RestClient.builder()
-                .baseUrl(modelApiUrl)
+    public RestClient restClient(RestClient.Builder builder, CloseableHttpClient modelHttpClient) {
+        builder.requestFactory(new HttpComponentsClientHttpRequestFactory(modelHttpClient));
+
+        if (modelApiProperties.getTransport().isGzipBatchRequests()) {
+            builder.requestInterceptor(new GzipRequestInterceptor("/predict/batch"));
+        }
+        return builder.build();
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(name = "model.api.async.enabled", havingValue = "true")
+    public ExecutorService modelAsyncExecutor() {
+        return Executors.newFixedThreadPool(Math.max(1, modelApiProperties.getAsync().getIoThreads()),
+                Thread.ofPlatform().name("model-async-io-", 0).daemon(true).factory());
+    }
+
+    /**
+     * Cliente HTTP del JDK usado por {@code AsyncModelApiClient}; mantiene sus propias conexiones
+     * keep-alive y completa las respuestas en {@code modelAsyncExecutor}.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "model.api.async.enabled", havingValue = "true")
+    public HttpClient modelAsyncHttpClient(ExecutorService modelAsyncExecutor) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(modelApiProperties.getTransport().getConnectTimeout())
+                .executor(modelAsyncExecutor)
                 .build();
     }
+
+    private static Timeout timeout(Duration duration) {
+        return Timeout.ofMilliseconds(duration.toMillis());
+    }
+
+    private static void registerPoolGauge(MeterRegistry meterRegistry, PoolingHttpClientConnectionManager connectionManager,
+                                          String state, ToDoubleFunction<PoolStats> value) {
+        Gauge.builder("model.http.pool.connections", connectionManager, cm -> value.applyAsDouble(cm.getTotalStats()))
+                .tag("state", state)
+                .description("Conexiones del pool HTTP hacia el modelo")
+                .register(meterRegistry);
+    }
 }
@@ -0,0 +1,38 @@
+package com.one8.sentiment_tech_api.config;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Comprime con gzip el cuerpo de las peticiones cuya ruta termina en el sufijo indicado.
+ */
+class GzipRequestInterceptor implements ClientHttpRequestInterceptor {
+
+    private final String pathSuffix;
+
+    GzipRequestInterceptor(String pathSuffix) {
+        this.pathSuffix = pathSuffix;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        if (body.length == 0 || !request.getURI().getPath().endsWith(pathSuffix)) {
+            return execution.execute(request, body);
+        }
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        }
+
+        request.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        return execution.execute(request, compressed.toByteArray());
+    }
+}
@@ -0,0 +1,16 @@
+package com.one8.sentiment_tech_api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Motor local ({@code model.engine=local}): ubicación del modelo exportado por model-api/export_model.py.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "model.local")
+public class LocalModelProperties {
+
+    private String path = "file:model-api/export/sentiment-model.json";
+}
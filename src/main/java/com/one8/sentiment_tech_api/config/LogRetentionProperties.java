@@ -0,0 +1,46 @@
+package com.one8.sentiment_tech_api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.log-retention")
+public class LogRetentionProperties {
+
+    /**
+     * Si está deshabilitado no se crean ni eliminan particiones de sentiment_logs.
+     */
+    private boolean enabled = true;
+    /**
+     * Antigüedad a partir de la cual una partición diaria vence; los rollups no se ven afectados.
+     */
+    private Duration retention = Duration.ofDays(90);
+    /**
+     * Días futuros que se dejan con su partición creada.
+     */
+    private int premakeDays = 7;
+    private ExpiredAction expiredAction = ExpiredAction.DROP;
+    private String cron = "0 5 0 * * *";
+    private Archive archive = new Archive();
+
+    public enum ExpiredAction {
+        /** Elimina la partición. */
+        DROP,
+        /** La separa de sentiment_logs y la deja como tabla independiente. */
+        DETACH
+    }
+
+    @Data
+    public static class Archive {
+
+        /**
+         * Exporta cada partición vencida a {directory}/{partición}.csv.gz antes de eliminarla o separarla.
+         */
+        private boolean enabled = false;
+        private String directory = "archive/sentiment-logs";
+    }
+}
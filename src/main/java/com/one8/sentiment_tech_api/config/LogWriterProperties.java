@@ -0,0 +1,36 @@
+package com.one8.sentiment_tech_api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.log-writer")
+public class LogWriterProperties {
+
+    /**
+     * Si está deshabilitado, cada predicción se guarda de forma síncrona.
+     */
+    private boolean enabled = true;
+    private int queueCapacity = 10_000;
+    private int batchSize = 500;
+    private Duration flushInterval = Duration.ofMillis(200);
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+    /**
+     * Tiempo máximo de espera con la cola llena bajo la política BLOCK antes de descartar.
+     */
+    private Duration offerTimeout = Duration.ofMillis(100);
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    public enum OverflowPolicy {
+        /** Espera hasta offerTimeout a que haya espacio y descarta si no lo hay. */
+        BLOCK,
+        /** Descarta el registro inmediatamente. */
+        DROP,
+        /** Guarda el registro de forma síncrona en el hilo de la petición. */
+        CALLER_RUNS
+    }
+}
@@ -0,0 +1,122 @@
+package com.one8.sentiment_tech_api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "model.api")
+public class ModelApiProperties {
+
+    private String url = "http://localhost:8000";
+    /**
+     * Réplicas del modelo entre las que se reparte la carga; si está vacía se usa {@code url}.
+     */
+    private List<String> urls = new ArrayList<>();
+    private Duration versionCheckInterval = Duration.ofSeconds(30);
+    private Batching batching = new Batching();
+    private Coalescing coalescing = new Coalescing();
+    private Transport transport = new Transport();
+    private Balancing balancing = new Balancing();
+    private Async async = new Async();
+
+    public List<String> endpointUrls() {
+        List<String> endpoints = urls.stream().map(String::trim).filter(u -> !u.isEmpty()).toList();
+        return endpoints.isEmpty() ? List.of(url) : endpoints;
+    }
+
+    /**
+     * Agrupación de predicciones individuales concurrentes en una sola llamada a /predict/batch.
+     */
+    @Data
+    public static class Batching {
+        private boolean enabled = true;
+        private int maxBatchSize = 32;
+        private Duration maxWait = Duration.ofMillis(5);
+    }
+
+    /**
+     * Predicciones concurrentes del mismo texto normalizado que comparten una sola llamada al modelo.
+     * Independiente de la caché: funciona aunque esté deshabilitada.
+     */
+    @Data
+    public static class Coalescing {
+        private boolean enabled = true;
+    }
+
+    /**
+     * Cliente HTTP no bloqueante para POST /sentiment (perfil nonblocking): las llamadas al modelo
+     * no ocupan un hilo mientras esperan la respuesta.
+     */
+    @Data
+    public static class Async {
+        private boolean enabled = false;
+        /**
+         * Hilos del cliente HTTP asíncrono; atienden las respuestas, no las esperan.
+         */
+        private int ioThreads = 4;
+    }
+
+    /**
+     * Pool de conexiones HTTP hacia el modelo (keep-alive) y timeouts.
+     */
+    @Data
+    public static class Transport {
+        private int maxConnections = 64;
+        private int maxConnectionsPerRoute = 32;
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        private Duration readTimeout = Duration.ofSeconds(10);
+        /**
+         * Espera máxima por una conexión libre del pool.
+         */
+        private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+        private Duration keepAlive = Duration.ofSeconds(30);
+        private Duration idleEviction = Duration.ofSeconds(30);
+        /**
+         * Comprime con gzip el cuerpo de las llamadas a /predict/batch.
+         */
+        private boolean gzipBatchRequests = false;
+        /**
+         * Formato preferido para /predict y /predict/batch. CBOR solo se usa con las réplicas que
+         * lo anuncian en su health check; con las demás se usa JSON.
+         */
+        private WireFormat wireFormat = WireFormat.CBOR;
+
+        public enum WireFormat {
+            JSON,
+            CBOR
+        }
+    }
+
+    /**
+     * Reparto de carga entre réplicas y expulsión de las que no responden.
+     */
+    @Data
+    public static class Balancing {
+        private Strategy strategy = Strategy.POWER_OF_TWO_CHOICES;
+        private Duration healthCheckInterval = Duration.ofSeconds(5);
+        /**
+         * Health checks fallidos consecutivos para marcar una réplica como caída.
+         */
+        private int unhealthyThreshold = 2;
+        /**
+         * Health checks correctos consecutivos para volver a enviarle tráfico.
+         */
+        private int healthyThreshold = 2;
+        /**
+         * Errores consecutivos en llamadas reales que expulsan la réplica sin esperar al health check.
+         */
+        private int failureEjectionThreshold = 5;
+        private Duration ejectionDuration = Duration.ofSeconds(30);
+
+        public enum Strategy {
+            POWER_OF_TWO_CHOICES,
+            LEAST_OUTSTANDING
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.one8.sentiment_tech_api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "model.api.resilience")
+public class ResilienceProperties {
+
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private Bulkhead bulkhead = new Bulkhead();
+    private Limiter limiter = new Limiter();
+    private Scheduler scheduler = new Scheduler();
+
+    /**
+     * Corta las llamadas al modelo cuando la tasa de fallos en la ventana supera el umbral.
+     */
+    @Data
+    public static class CircuitBreaker {
+        private boolean enabled = true;
+        private int windowSize = 50;
+        private int minimumCalls = 20;
+        private double failureRateThreshold = 0.5;
+        private Duration openDuration = Duration.ofSeconds(10);
+        private int halfOpenCalls = 5;
+    }
+
+    /**
+     * Llamadas simultáneas al modelo por tipo de tráfico; batch no puede agotar el cupo interactivo.
+     */
+    @Data
+    public static class Bulkhead {
+        private int interactiveMaxConcurrent = 32;
+        private int batchMaxConcurrent = 16;
+        private Duration interactiveMaxWait = Duration.ofMillis(50);
+        private Duration batchMaxWait = Duration.ofSeconds(5);
+    }
+
+    /**
+     * Límite de concurrencia AIMD: sube de a uno mientras la latencia se mantiene cerca del mínimo
+     * observado y se reduce multiplicativamente ante errores o latencias altas.
+     */
+    @Data
+    public static class Limiter {
+        private boolean enabled = true;
+        private int initialLimit = 20;
+        private int minLimit = 4;
+        private int maxLimit = 128;
+        private double backoffRatio = 0.9;
+        /**
+         * Una muestra se considera lenta si supera la latencia mínima multiplicada por este factor.
+         */
+        private double latencyTolerance = 2.0;
+        /**
+         * Cada cuántas muestras se vuelve a medir la latencia mínima.
+         */
+        private int minLatencyResetSamples = 1000;
+    }
+
+    /**
+     * Reparto de los permisos del limitador cuando hay llamadas esperando: de cada
+     * interactive-weight + batch-weight permisos, interactive-weight van al tráfico interactivo.
+     */
+    @Data
+    public static class Scheduler {
+        private int interactiveWeight = 9;
+        private int batchWeight = 1;
+    }
+}
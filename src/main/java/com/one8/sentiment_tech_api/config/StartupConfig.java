@@ -0,0 +1,32 @@
+package com.one8.sentiment_tech_api.config;
+
+import com.one8.sentiment_tech_api.client.ModelEndpointMonitor;
+import com.one8.sentiment_tech_api.client.ModelVersionTracker;
+import com.one8.sentiment_tech_api.client.PredictionMicroBatcher;
+import com.one8.sentiment_tech_api.service.impl.BatchJobServiceImpl;
+import com.one8.sentiment_tech_api.service.impl.SentimentLogPartitionManager;
+import com.one8.sentiment_tech_api.service.impl.SentimentLogWriter;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Beans que se crean al arrancar aunque {@code spring.main.lazy-initialization} esté activo (perfil startup):
+ * los que tienen tareas {@code @Scheduled}, que con inicialización diferida nunca se programarían,
+ * y los que arrancan hilos propios usados por la primera predicción.
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                ModelEndpointMonitor.class,
+                ModelVersionTracker.class,
+                BatchJobServiceImpl.class,
+                SentimentLogPartitionManager.class,
+                SentimentLogWriter.class,
+                PredictionMicroBatcher.class
+        );
+    }
+}
@@ -0,0 +1,17 @@
+package com.one8.sentiment_tech_api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.stats")
+public class StatsProperties {
+
+    /**
+     * Cantidad de predicciones recientes que se mantienen en memoria para /sentiment/stats.
+     * Debe ser al menos el máximo aceptado por el parámetro "last".
+     */
+    private int windowSize = 10_000;
+}
@@ -0,0 +1,30 @@
+package com.one8.sentiment_tech_api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.warmup")
+public class WarmupProperties {
+
+    /**
+     * Calienta el camino de predicción antes de que la readiness pase a ACCEPTING_TRAFFIC.
+     */
+    private boolean enabled = false;
+    /**
+     * Conexiones keep-alive que se abren por réplica del modelo.
+     */
+    private int connections = 8;
+    /**
+     * Llamadas a /predict para que el JIT compile el camino caliente; una de cada ocho va a /predict/batch.
+     */
+    private int iterations = 500;
+    /**
+     * Tiempo máximo del warm-up; al vencer el pod se declara listo igual.
+     */
+    private Duration timeout = Duration.ofSeconds(30);
+}
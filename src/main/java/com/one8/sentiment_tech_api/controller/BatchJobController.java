@@ -0,0 +1,81 @@
+package com.one8.sentiment_tech_api.controller;
+
+import com.one8.sentiment_tech_api.client.resilience.TrafficClass;
+import com.one8.sentiment_tech_api.client.resilience.TrafficContext;
+import com.one8.sentiment_tech_api.dtos.response.ApiResponse;
+import com.one8.sentiment_tech_api.dtos.response.BatchJobResultsPageDTO;
+import com.one8.sentiment_tech_api.dtos.response.BatchJobStatusDTO;
+import com.one8.sentiment_tech_api.service.BatchJobService;
+import com.one8.sentiment_tech_api.service.impl.TenantResolver;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.UUID;
+
+/**
+ * Controlador REST para jobs batch asíncronos.
+ * Endpoints: /api/v1/sentiment/batch/jobs
+ */
+@Validated
+@Slf4j
+@RestController
+@RequestMapping("sentiment/batch/jobs")
+@RequiredArgsConstructor
+public class BatchJobController {
+
+    private final BatchJobService batchJobService;
+    private final TenantResolver tenantResolver;
+
+    /**
+     * POST /api/v1/sentiment/batch/jobs
+     * Registra el CSV como job y responde de inmediato con su id; el procesamiento sigue en segundo plano.
+     */
+    @PostMapping(consumes = "multipart/form-data")
+    public ResponseEntity<ApiResponse<BatchJobStatusDTO>> submit(
+            @RequestParam("file") MultipartFile file,
+            @RequestHeader(name = "${app.batch.tenant-header:X-API-Key}", required = false) String apiKey) {
+        log.info("POST /api/v1/sentiment/batch/jobs - Archivo: {}", file.getOriginalFilename());
+
+        BatchJobStatusDTO job = TrafficContext.callAs(TrafficClass.BATCH, tenantResolver.resolve(apiKey),
+                () -> batchJobService.submit(file));
+
+        ApiResponse<BatchJobStatusDTO> response = ApiResponse.<BatchJobStatusDTO>builder()
+                .success(true)
+                .data(job)
+                .message(String.format("Job %s creado con %d textos", job.id(), job.totalRows()))
+                .build();
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    /**
+     * GET /api/v1/sentiment/batch/jobs/{id}
+     * Progreso del job: filas procesadas/fallidas, porcentaje y filas por segundo.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<BatchJobStatusDTO> getStatus(@PathVariable UUID id) {
+        return ResponseEntity.ok(batchJobService.getStatus(id));
+    }
+
+    /**
+     * GET /api/v1/sentiment/batch/jobs/{id}/results?after=-1&size=100
+     * Resultados ya puntuados, paginados por número de fila.
+     */
+    @GetMapping("/{id}/results")
+    public ResponseEntity<BatchJobResultsPageDTO> getResults(
+            @PathVariable UUID id,
+            @RequestParam(defaultValue = "-1") int after,
+            @RequestParam(defaultValue = "100")
+            @Min(value = 1, message = "El tamaño de página debe ser al menos 1")
+            @Max(value = 1000, message = "El tamaño de página no puede exceder 1000")
+            int size) {
+        return ResponseEntity.ok(batchJobService.getResults(id, after, size));
+    }
+}
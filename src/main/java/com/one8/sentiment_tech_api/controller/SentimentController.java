@@ -1,22 +1,54 @@
 package com.one8.sentiment_tech_api.controller;
 
+import com.one8.sentiment_tech_api.client.resilience.TrafficClass;
+import com.one8.sentiment_tech_api.client.resilience.TrafficContext;
+import com.one8.sentiment_tech_api.config.BatchProcessingProperties;
 import com.one8.sentiment_tech_api.dtos.request.SentimentRequestDTO;
 import com.one8.sentiment_tech_api.dtos.response.ApiResponse;
 import com.one8.sentiment_tech_api.dtos.response.BatchSentimentResponseDTO;
+import com.one8.sentiment_tech_api.dtos.response.BatchSummaryDTO;
+import com.one8.sentiment_tech_api.dtos.response.BulkSentimentResponseDTO;
+import com.one8.sentiment_tech_api.dtos.response.BulkSentimentResultDTO;
 import com.one8.sentiment_tech_api.dtos.response.SentimentResponseDTO;
 import com.one8.sentiment_tech_api.dtos.response.SentimentStatsResponseDTO;
+import com.one8.sentiment_tech_api.dtos.response.TimeSeriesPointDTO;
+import com.one8.sentiment_tech_api.entity.RollupBucket;
+import com.one8.sentiment_tech_api.exceptions.CsvProcessingException;
+import com.one8.sentiment_tech_api.exceptions.InvalidRequestException;
 import com.one8.sentiment_tech_api.service.BatchSentimentService;
+import com.one8.sentiment_tech_api.service.CsvProcessingService;
 import com.one8.sentiment_tech_api.service.SentimentService;
 import com.one8.sentiment_tech_api.service.impl.SentimentStatsServiceImpl;
+import com.one8.sentiment_tech_api.service.impl.TenantResolver;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controlador REST para la gestión de sentimientos.
@@ -32,65 +64,276 @@ public class SentimentController {
     private final SentimentService sentimentService;
     private final SentimentStatsServiceImpl sentimentStatsService;
     private final BatchSentimentService batchSentimentService;
+    private final CsvProcessingService csvProcessingService;
+    private final BatchProcessingProperties batchProperties;
+    private final TenantResolver tenantResolver;
+    private final JsonMapper jsonMapper;
 
     /**
      * POST /api/v1/sentiment
-     * Endpoint para obtener el sentimiento de un feedback.
+     * Endpoint para obtener el sentimiento de un feedback. En el perfil nonblocking el hilo del
+     * servidor se libera mientras se espera al modelo; si no, la predicción se resuelve en el mismo hilo.
      */
     @PostMapping
-    public ResponseEntity<ApiResponse<SentimentResponseDTO>> analyze(@Valid @RequestBody SentimentRequestDTO request) {
-        log.info("POST /api/v1/sentiment  {}", request);
-
-        SentimentResponseDTO predictionResponse = sentimentService.predict(request);
+    public CompletableFuture<ResponseEntity<ApiResponse<SentimentResponseDTO>>> analyze(@Valid @RequestBody SentimentRequestDTO request) {
+        log.debug("POST /api/v1/sentiment ({} caracteres)", request.text().length());
 
-        ApiResponse<SentimentResponseDTO> response = ApiResponse.<SentimentResponseDTO>builder()
-                .success(true)
-                .data(predictionResponse)
-                .message("Predicción recibida exitosamente")
-                .build();
+        return sentimentService.predictAsync(request).thenApply(predictionResponse -> {
+            ApiResponse<SentimentResponseDTO> response = ApiResponse.<SentimentResponseDTO>builder()
+                    .success(true)
+                    .data(predictionResponse)
+                    .message("Predicción recibida exitosamente")
+                    .build();
 
-        return ResponseEntity.ok(response);
+            return ResponseEntity.ok(response);
+        });
     }
 
     /**
      * POST /api/v1/sentiment/batch
      * Endpoint para procesar un archivo CSV con múltiples textos y obtener sus sentimientos.
+     * Con includeResults=false solo se devuelven las estadísticas y la memoria usada no depende
+     * del tamaño del archivo. Se procesa de forma asíncrona: si el cliente se desconecta o vence el timeout,
+     * Spring interrumpe la tarea y se cancelan las filas pendientes.
      */
     @PostMapping(value = "batch", consumes = "multipart/form-data")
-    public ResponseEntity<ApiResponse<BatchSentimentResponseDTO>> analyzeBatch(
-            @RequestParam("file") MultipartFile file) {
+    public Callable<ResponseEntity<ApiResponse<BatchSentimentResponseDTO>>> analyzeBatch(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(defaultValue = "true") boolean includeResults,
+            @RequestHeader(name = "${app.batch.tenant-header:X-API-Key}", required = false) String apiKey) {
 
         log.info("POST /api/v1/sentiment/batch - Procesando archivo: {}", file.getOriginalFilename());
+        String tenant = tenantResolver.resolve(apiKey);
+
+        return () -> {
+            BatchSentimentResponseDTO batchResponse = TrafficContext.callAs(TrafficClass.BATCH, tenant,
+                    () -> batchSentimentService.processBatchFromCsv(file, includeResults));
+
+            ApiResponse<BatchSentimentResponseDTO> response = ApiResponse.<BatchSentimentResponseDTO>builder()
+                    .success(true)
+                    .data(batchResponse)
+                    .message(String.format("Se procesaron %d textos del archivo CSV (%d exitosos, %d fallidos). Sentimientos: %d positivos, %d neutrales, %d negativos",
+                            batchResponse.totalProcessed(), batchResponse.successful(), batchResponse.failed(),
+                            batchResponse.totalPositives(), batchResponse.totalNeutrals(), batchResponse.totalNegatives()))
+                    .build();
+
+            return ResponseEntity.ok(response);
+        };
+    }
+
+    /**
+     * POST /api/v1/sentiment/batch (Accept: application/x-ndjson)
+     * Devuelve un TextSentimentResultDTO por línea a medida que se puntúa cada texto
+     * y, al final, una línea con el BatchSummaryDTO.
+     */
+    @PostMapping(value = "batch", consumes = "multipart/form-data", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> analyzeBatchNdjson(@RequestParam("file") MultipartFile file,
+                                                                    @RequestHeader(name = "${app.batch.tenant-header:X-API-Key}", required = false) String apiKey) {
+        log.info("POST /api/v1/sentiment/batch (ndjson) - Procesando archivo: {}", file.getOriginalFilename());
+        csvProcessingService.validateCsvFile(file);
+        String tenant = tenantResolver.resolve(apiKey);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> streamBatch(file, tenant, out, (type, payload) ->
+                        out.write(jsonMapper.writeValueAsBytes(payload)), "\n"));
+    }
+
+    /**
+     * POST /api/v1/sentiment/batch (Accept: text/event-stream)
+     * Emite un evento "result" por texto y un evento "summary" final con las estadísticas.
+     */
+    @PostMapping(value = "batch", consumes = "multipart/form-data", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> analyzeBatchEvents(@RequestParam("file") MultipartFile file,
+                                                                    @RequestHeader(name = "${app.batch.tenant-header:X-API-Key}", required = false) String apiKey) {
+        log.info("POST /api/v1/sentiment/batch (sse) - Procesando archivo: {}", file.getOriginalFilename());
+        csvProcessingService.validateCsvFile(file);
+        String tenant = tenantResolver.resolve(apiKey);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                .body(out -> streamBatch(file, tenant, out, (type, payload) -> {
+                    out.write(("event: " + type + "\ndata: ").getBytes(StandardCharsets.UTF_8));
+                    out.write(jsonMapper.writeValueAsBytes(payload));
+                }, "\n\n"));
+    }
+
+    private void streamBatch(MultipartFile file, String tenant, OutputStream out, StreamWriter writer,
+                             String separator) throws IOException {
+        byte[] separatorBytes = separator.getBytes(StandardCharsets.UTF_8);
+        try {
+            BatchSentimentResponseDTO summary = TrafficContext.callAs(TrafficClass.BATCH, tenant,
+                    () -> batchSentimentService.processBatchFromCsv(file, result -> {
+                        try {
+                            writer.write("result", result);
+                            out.write(separatorBytes);
+                            out.flush();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }));
+            writer.write("summary", BatchSummaryDTO.from(summary));
+        } catch (CsvProcessingException e) {
+            writer.write("error", Map.of("error", e.getMessage()));
+        } catch (UncheckedIOException e) {
+            // El cliente cerró la conexión: no hay a quién escribirle el error
+            log.info("Batch de {} interrumpido, el cliente cerró la conexión: {}", file.getOriginalFilename(), e.getMessage());
+            return;
+        }
+        out.write(separatorBytes);
+        out.flush();
+    }
+
+    /**
+     * POST /api/v1/sentiment/bulk (Content-Type: application/json)
+     * Puntúa un arreglo de SentimentRequestDTO con el mismo pipeline del batch CSV (concurrente,
+     * sin repetir textos y con caché). Los resultados vienen compactos y en el orden de entrada;
+     * los textos inválidos se devuelven como ERROR. Con includeText=false se omite el texto.
+     * El arreglo se lee elemento a elemento y la lectura se corta al pasar app.batch.max-bulk-items,
+     * sin deserializar el resto del cuerpo.
+     */
+    @PostMapping(value = "bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Callable<ResponseEntity<ApiResponse<BulkSentimentResponseDTO>>> analyzeBulk(
+            InputStream body,
+            @RequestParam(defaultValue = "true") boolean includeText,
+            @RequestHeader(name = "${app.batch.tenant-header:X-API-Key}", required = false) String apiKey) {
+
+        String tenant = tenantResolver.resolve(apiKey);
+        List<SentimentRequestDTO> requests = readBulkRequests(body);
+        log.info("POST /api/v1/sentiment/bulk - {} textos", requests.size());
+        if (requests.isEmpty()) {
+            throw new InvalidRequestException("La lista de textos está vacía");
+        }
+
+        return () -> {
+            List<BulkSentimentResultDTO> results = new ArrayList<>(requests.size());
+            BatchSentimentResponseDTO summary = TrafficContext.callAs(TrafficClass.BATCH, tenant,
+                    () -> batchSentimentService.processBulk(bulkTexts(requests.iterator()),
+                            result -> results.add(BulkSentimentResultDTO.from(result, includeText))));
+
+            ApiResponse<BulkSentimentResponseDTO> response = ApiResponse.<BulkSentimentResponseDTO>builder()
+                    .success(true)
+                    .data(new BulkSentimentResponseDTO(BatchSummaryDTO.from(summary), results))
+                    .message(String.format("Se procesaron %d textos (%d exitosos, %d fallidos)",
+                            summary.totalProcessed(), summary.successful(), summary.failed()))
+                    .build();
+
+            return ResponseEntity.ok(response);
+        };
+    }
+
+    /**
+     * POST /api/v1/sentiment/bulk (Content-Type: application/x-ndjson)
+     * Lee un SentimentRequestDTO por línea a medida que llega el cuerpo y responde en NDJSON
+     * un BulkSentimentResultDTO por texto, en orden, más una línea final con el BatchSummaryDTO.
+     */
+    @PostMapping(value = "bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> analyzeBulkNdjson(
+            InputStream body,
+            @RequestParam(defaultValue = "true") boolean includeText,
+            @RequestHeader(name = "${app.batch.tenant-header:X-API-Key}", required = false) String apiKey) {
+
+        log.info("POST /api/v1/sentiment/bulk (ndjson)");
+        String tenant = tenantResolver.resolve(apiKey);
+        byte[] newline = "\n".getBytes(StandardCharsets.UTF_8);
 
-        BatchSentimentResponseDTO batchResponse = batchSentimentService.processBatchFromCsv(file);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> {
+                    try (MappingIterator<SentimentRequestDTO> requests =
+                                 jsonMapper.readerFor(SentimentRequestDTO.class).readValues(body)) {
+                        BatchSentimentResponseDTO summary = TrafficContext.callAs(TrafficClass.BATCH, tenant,
+                                () -> batchSentimentService.processBulk(bulkTexts(requests), result -> {
+                                    try {
+                                        out.write(jsonMapper.writeValueAsBytes(BulkSentimentResultDTO.from(result, includeText)));
+                                        out.write(newline);
+                                        out.flush();
+                                    } catch (IOException e) {
+                                        throw new UncheckedIOException(e);
+                                    }
+                                }));
+                        out.write(jsonMapper.writeValueAsBytes(BatchSummaryDTO.from(summary)));
+                    } catch (JacksonException e) {
+                        // Línea mal formada: los resultados previos ya se enviaron
+                        log.warn("NDJSON inválido en /sentiment/bulk: {}", e.getOriginalMessage());
+                        out.write(jsonMapper.writeValueAsBytes(Map.of("error", "NDJSON inválido: " + e.getOriginalMessage())));
+                    }
+                    out.write(newline);
+                    out.flush();
+                });
+    }
+
+    private List<SentimentRequestDTO> readBulkRequests(InputStream body) {
+        int maxItems = batchProperties.getMaxBulkItems();
+        List<SentimentRequestDTO> requests = new ArrayList<>();
+        try (MappingIterator<SentimentRequestDTO> items = jsonMapper.readerFor(SentimentRequestDTO.class).readValues(body)) {
+            while (items.hasNext()) {
+                if (requests.size() == maxItems) {
+                    throw new InvalidRequestException("La lista excede el máximo de " + maxItems
+                            + " textos; use application/x-ndjson o /sentiment/batch/jobs");
+                }
+                requests.add(items.next());
+            }
+        } catch (JacksonException e) {
+            throw new InvalidRequestException("JSON inválido: " + e.getOriginalMessage());
+        }
+        return requests;
+    }
 
-        ApiResponse<BatchSentimentResponseDTO> response = ApiResponse.<BatchSentimentResponseDTO>builder()
-                .success(true)
-                .data(batchResponse)
-                .message(String.format("Se procesaron %d textos del archivo CSV (%d exitosos, %d fallidos). Sentimientos: %d positivos, %d neutrales, %d negativos",
-                        batchResponse.totalProcessed(), batchResponse.successful(), batchResponse.failed(),
-                        batchResponse.totalPositives(), batchResponse.totalNeutrals(), batchResponse.totalNegatives()))
-                .build();
+    private static Iterator<String> bulkTexts(Iterator<SentimentRequestDTO> requests) {
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return requests.hasNext();
+            }
+
+            @Override
+            public String next() {
+                SentimentRequestDTO request = requests.next();
+                return request == null || request.text() == null ? null : request.text().strip();
+            }
+        };
+    }
 
-        return ResponseEntity.ok(response);
+    @FunctionalInterface
+    private interface StreamWriter {
+        void write(String type, Object payload) throws IOException;
     }
 
     /**
      * GET /api/v1/sentiment/stats
      * Endpoint para obtener estadísticas de los últimos análisis de sentimiento realizados.
      * Permite consultar las estadísticas de las últimas N predicciones, donde N es un valor
-     * entre 5 y 100 (por defecto 10).
+     * entre 5 y 10000 (por defecto 10). Se calcula en memoria, sin consultar la base de datos.
      */
     @GetMapping("/stats")
     public ResponseEntity<SentimentStatsResponseDTO>getStats(
             @RequestParam(defaultValue = "10")
             @Min(value = 5, message = "Debe haber al menos 5 últimas predicciones")
-            @Max(value = 100, message ="No puede exceder 100 últimas predicciones")
+            @Max(value = 10000, message ="No puede exceder 10000 últimas predicciones")
             int last){
-        log.info("GET /sentiment/stats?last={}", last);
+        log.debug("GET /sentiment/stats?last={}", last);
 
         SentimentStatsResponseDTO stats = sentimentStatsService.getStats(last);
         return ResponseEntity.ok(stats);
     }
 
+    /**
+     * GET /api/v1/sentiment/stats/timeseries?from=&to=&bucket=HOUR
+     * Tendencia por minuto, hora o día (conteos por etiqueta y probabilidad media),
+     * calculada solo a partir de la tabla de rollups. Por defecto, las últimas 24 horas por hora.
+     */
+    @GetMapping("/stats/timeseries")
+    public ResponseEntity<List<TimeSeriesPointDTO>> getTimeSeries(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "HOUR") RollupBucket bucket) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(1);
+        log.debug("GET /sentiment/stats/timeseries?from={}&to={}&bucket={}", start, end, bucket);
+
+        return ResponseEntity.ok(sentimentStatsService.getTimeSeries(start, end, bucket));
+    }
+
 }
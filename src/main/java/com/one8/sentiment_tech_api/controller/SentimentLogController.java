@@ -0,0 +1,64 @@
+package com.one8.sentiment_tech_api.controller;
+
+import com.one8.sentiment_tech_api.dtos.response.SentimentLogPageDTO;
+import com.one8.sentiment_tech_api.repository.SentimentLogFilter;
+import com.one8.sentiment_tech_api.service.SentimentLogService;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+
+/**
+ * Controlador REST para el historial de predicciones.
+ * Endpoints: /api/v1/sentiment/logs
+ */
+@Validated
+@Slf4j
+@RestController
+@RequestMapping("sentiment/logs")
+@RequiredArgsConstructor
+public class SentimentLogController {
+
+    private final SentimentLogService sentimentLogService;
+
+    /**
+     * GET /api/v1/sentiment/logs?label=&minProbability=&maxProbability=&from=&to=&cursor=&size=50&includeText=false
+     * Historial de la predicción más reciente a la más antigua, paginado por cursor: cada página
+     * cuesta lo mismo sin importar cuán profunda sea. El texto solo se lee con includeText=true.
+     */
+    @GetMapping
+    public ResponseEntity<SentimentLogPageDTO> getLogs(
+            @RequestParam(required = false) String label,
+            @RequestParam(required = false)
+            @DecimalMin(value = "0.0", message = "minProbability debe estar entre 0 y 1")
+            @DecimalMax(value = "1.0", message = "minProbability debe estar entre 0 y 1")
+            Double minProbability,
+            @RequestParam(required = false)
+            @DecimalMin(value = "0.0", message = "maxProbability debe estar entre 0 y 1")
+            @DecimalMax(value = "1.0", message = "maxProbability debe estar entre 0 y 1")
+            Double maxProbability,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50")
+            @Min(value = 1, message = "El tamaño de página debe ser al menos 1")
+            @Max(value = 500, message = "El tamaño de página no puede exceder 500")
+            int size,
+            @RequestParam(defaultValue = "false") boolean includeText) {
+        log.debug("GET /sentiment/logs?label={}&cursor={}&size={}", label, cursor, size);
+
+        SentimentLogFilter filter = new SentimentLogFilter(label, minProbability, maxProbability, from, to);
+        return ResponseEntity.ok(sentimentLogService.findLogs(filter, cursor, size, includeText));
+    }
+}
@@ -0,0 +1,252 @@
+package com.one8.sentiment_tech_api.csv;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lector CSV (RFC 4180) que recorre los bytes del archivo una sola vez y decodifica en UTF-8
+ * solo los campos pedidos. Soporta campos entre comillas con comas, saltos de línea y comillas
+ * escapadas ({@code ""}), finales de línea LF o CRLF y BOM inicial.
+ * <p>
+ * Los delimitadores son ASCII, así que se buscan directamente sobre los bytes sin decodificar;
+ * los campos que no se piden se saltan sin copiarse. No es thread-safe.
+ */
+public final class CsvColumnReader implements Closeable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private static final int END_OF_FIELD = 0;
+    private static final int END_OF_RECORD = 1;
+    private static final int END_OF_INPUT = 2;
+
+    private final InputStream in;
+    private final byte[] buffer;
+    private int position;
+    private int limit;
+    private boolean exhausted;
+
+    private byte[] field = new byte[256];
+    private int fieldLength;
+    private long recordNumber;
+
+    public CsvColumnReader(InputStream in) throws IOException {
+        this(in, DEFAULT_BUFFER_SIZE);
+    }
+
+    public CsvColumnReader(InputStream in, int bufferSize) throws IOException {
+        this.in = in;
+        this.buffer = new byte[Math.max(16, bufferSize)];
+        skipByteOrderMark();
+    }
+
+    /**
+     * Número (desde 1) del último registro leído.
+     */
+    public long recordNumber() {
+        return recordNumber;
+    }
+
+    /**
+     * Lee el siguiente registro completo, o devuelve null si no quedan registros.
+     */
+    public List<String> readRecord() throws IOException {
+        if (!hasMoreInput()) {
+            return null;
+        }
+        recordNumber++;
+        List<String> fields = new ArrayList<>();
+        int end;
+        do {
+            fieldLength = 0;
+            end = readField(true);
+            fields.add(decodeField());
+        } while (end == END_OF_FIELD);
+        return fields;
+    }
+
+    /**
+     * Lee el siguiente registro y devuelve solo la columna indicada ("" si el registro tiene menos
+     * columnas), o null si no quedan registros. Con {@code joinTrailing} los campos posteriores a la
+     * columna se agregan separados por coma: sirve para archivos de una sola columna cuyos textos
+     * traen comas sin comillas.
+     */
+    public String readColumn(int column, boolean joinTrailing) throws IOException {
+        if (!hasMoreInput()) {
+            return null;
+        }
+        recordNumber++;
+        fieldLength = 0;
+        int index = 0;
+        int end;
+        do {
+            boolean capture = index == column || (joinTrailing && index > column);
+            if (capture && index > column) {
+                append((byte) ',');
+            }
+            end = readField(capture);
+            index++;
+        } while (end == END_OF_FIELD);
+        return index > column ? decodeField() : "";
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private int readField(boolean capture) throws IOException {
+        if (!ensureInput()) {
+            return END_OF_INPUT;
+        }
+        if (buffer[position] == '"') {
+            position++;
+            return readQuoted(capture);
+        }
+        return readUnquoted(capture);
+    }
+
+    private int readUnquoted(boolean capture) throws IOException {
+        while (ensureInput()) {
+            int start = position;
+            int end = scanToDelimiter(start);
+            if (capture) {
+                append(buffer, start, end - start);
+            }
+            position = end;
+            if (end < limit) {
+                return consumeDelimiter();
+            }
+        }
+        return END_OF_INPUT;
+    }
+
+    private int readQuoted(boolean capture) throws IOException {
+        long startRecord = recordNumber;
+        while (true) {
+            if (!ensureInput()) {
+                throw new CsvFormatException("Campo entre comillas sin cerrar en el registro " + startRecord);
+            }
+            int start = position;
+            int end = start;
+            while (end < limit && buffer[end] != '"') {
+                end++;
+            }
+            if (capture) {
+                append(buffer, start, end - start);
+            }
+            position = end;
+            if (end == limit) {
+                continue;
+            }
+
+            position++;
+            if (!ensureInput()) {
+                return END_OF_INPUT;
+            }
+            if (buffer[position] == '"') {
+                // Comilla escapada
+                if (capture) {
+                    append((byte) '"');
+                }
+                position++;
+                continue;
+            }
+            // Comilla de cierre: lo que siga hasta el delimitador se conserva tal cual
+            return readUnquoted(capture);
+        }
+    }
+
+    private int scanToDelimiter(int from) {
+        byte[] bytes = buffer;
+        int i = from;
+        while (i < limit) {
+            byte b = bytes[i];
+            if (b == ',' || b == '\n' || b == '\r') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private int consumeDelimiter() throws IOException {
+        byte delimiter = buffer[position++];
+        if (delimiter == ',') {
+            return END_OF_FIELD;
+        }
+        if (delimiter == '\r' && ensureInput() && buffer[position] == '\n') {
+            position++;
+        }
+        return END_OF_RECORD;
+    }
+
+    private boolean hasMoreInput() throws IOException {
+        return ensureInput();
+    }
+
+    private boolean ensureInput() throws IOException {
+        if (position < limit) {
+            return true;
+        }
+        if (exhausted) {
+            return false;
+        }
+        int read = in.read(buffer, 0, buffer.length);
+        while (read == 0) {
+            read = in.read(buffer, 0, buffer.length);
+        }
+        if (read < 0) {
+            exhausted = true;
+            position = limit = 0;
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    private void skipByteOrderMark() throws IOException {
+        // Un read puede devolver menos de 3 bytes: se completa el prefijo antes de buscar el BOM
+        while (limit < 3 && !exhausted) {
+            int read = in.read(buffer, limit, buffer.length - limit);
+            if (read < 0) {
+                exhausted = true;
+            } else {
+                limit += read;
+            }
+        }
+        if (limit >= 3 && buffer[0] == (byte) 0xEF && buffer[1] == (byte) 0xBB && buffer[2] == (byte) 0xBF) {
+            position = 3;
+        }
+    }
+
+    private void append(byte[] source, int offset, int length) {
+        if (length == 0) {
+            return;
+        }
+        ensureFieldCapacity(fieldLength + length);
+        System.arraycopy(source, offset, field, fieldLength, length);
+        fieldLength += length;
+    }
+
+    private void append(byte value) {
+        ensureFieldCapacity(fieldLength + 1);
+        field[fieldLength++] = value;
+    }
+
+    private void ensureFieldCapacity(int capacity) {
+        if (capacity > field.length) {
+            byte[] grown = new byte[Math.max(capacity, field.length * 2)];
+            System.arraycopy(field, 0, grown, 0, fieldLength);
+            field = grown;
+        }
+    }
+
+    private String decodeField() {
+        return fieldLength == 0 ? "" : new String(field, 0, fieldLength, StandardCharsets.UTF_8);
+    }
+}
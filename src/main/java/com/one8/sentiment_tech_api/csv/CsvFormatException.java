@@ -0,0 +1,11 @@
+package com.one8.sentiment_tech_api.csv;
+
+/**
+ * El contenido no es un CSV válido (p. ej. un campo entre comillas que nunca se cierra).
+ */
+public class CsvFormatException extends RuntimeException {
+
+    public CsvFormatException(String message) {
+        super(message);
+    }
+}
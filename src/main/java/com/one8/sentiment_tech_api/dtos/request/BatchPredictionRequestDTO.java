@@ -0,0 +1,8 @@
+package com.one8.sentiment_tech_api.dtos.request;
+
+import java.util.List;
+
+public record BatchPredictionRequestDTO(
+        List<String> texts
+) {
+}
@@ -0,0 +1,10 @@
+package com.one8.sentiment_tech_api.dtos.response;
+
+public record BatchJobResultDTO(
+
+        int row,
+        String text,
+        String prevision,
+        double probabilidad
+) {
+}
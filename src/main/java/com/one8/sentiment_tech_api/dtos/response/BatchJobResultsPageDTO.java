@@ -0,0 +1,16 @@
+package com.one8.sentiment_tech_api.dtos.response;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Página de resultados de un job. nextCursor es la última fila devuelta (usar como
+ * parámetro "after" en la siguiente consulta) o null si no hay más resultados por ahora.
+ */
+public record BatchJobResultsPageDTO(
+
+        UUID jobId,
+        List<BatchJobResultDTO> results,
+        Integer nextCursor
+) {
+}
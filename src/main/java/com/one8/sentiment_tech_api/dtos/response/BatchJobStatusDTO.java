@@ -0,0 +1,25 @@
+package com.one8.sentiment_tech_api.dtos.response;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record BatchJobStatusDTO(
+
+        UUID id,
+        String filename,
+        String status,
+        int totalRows,
+        int processedRows,
+        int failedRows,
+        double percent,
+        double rowsPerSecond,
+        int totalPositives,
+        int totalNeutrals,
+        int totalNegatives,
+        int modelCallsSaved,
+        String errorMessage,
+        LocalDateTime createdAt,
+        LocalDateTime startedAt,
+        LocalDateTime completedAt
+) {
+}
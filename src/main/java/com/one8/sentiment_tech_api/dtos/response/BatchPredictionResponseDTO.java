@@ -0,0 +1,8 @@
+package com.one8.sentiment_tech_api.dtos.response;
+
+import java.util.List;
+
+public record BatchPredictionResponseDTO(
+        List<SentimentResponseDTO> predictions
+) {
+}
@@ -10,6 +10,7 @@ public record BatchSentimentResponseDTO(
         int totalPositives,
         int totalNeutrals,
         int totalNegatives,
+        int modelCallsSaved,
         List<TextSentimentResultDTO> results
 ) {
 }
\ No newline at end of file
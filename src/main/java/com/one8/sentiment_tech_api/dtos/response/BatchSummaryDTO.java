@@ -0,0 +1,28 @@
+package com.one8.sentiment_tech_api.dtos.response;
+
+/**
+ * Registro final de las respuestas batch en streaming (NDJSON / SSE) y resumen de /sentiment/bulk.
+ */
+public record BatchSummaryDTO(
+
+        int totalProcessed,
+        int successful,
+        int failed,
+        int totalPositives,
+        int totalNeutrals,
+        int totalNegatives,
+        int modelCallsSaved
+) {
+
+    public static BatchSummaryDTO from(BatchSentimentResponseDTO response) {
+        return new BatchSummaryDTO(
+                response.totalProcessed(),
+                response.successful(),
+                response.failed(),
+                response.totalPositives(),
+                response.totalNeutrals(),
+                response.totalNegatives(),
+                response.modelCallsSaved()
+        );
+    }
+}
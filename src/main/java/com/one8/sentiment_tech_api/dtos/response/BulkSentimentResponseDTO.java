@@ -0,0 +1,10 @@
+package com.one8.sentiment_tech_api.dtos.response;
+
+import java.util.List;
+
+public record BulkSentimentResponseDTO(
+
+        BatchSummaryDTO summary,
+        List<BulkSentimentResultDTO> results
+) {
+}
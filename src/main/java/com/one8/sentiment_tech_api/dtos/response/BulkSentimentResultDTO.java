@@ -0,0 +1,23 @@
+package com.one8.sentiment_tech_api.dtos.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Resultado compacto de POST /sentiment/bulk, en el mismo orden de la entrada.
+ * El texto se omite cuando se pide includeText=false.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkSentimentResultDTO(
+        String text,
+        String prevision,
+        double probabilidad
+) {
+
+    public static BulkSentimentResultDTO from(TextSentimentResultDTO result, boolean includeText) {
+        return new BulkSentimentResultDTO(
+                includeText ? result.text() : null,
+                result.sentiment().prevision(),
+                result.sentiment().probabilidad()
+        );
+    }
+}
@@ -0,0 +1,20 @@
+package com.one8.sentiment_tech_api.dtos.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+public record ModelHealthDTO(
+        String status,
+        @JsonProperty("model_loaded") boolean modelLoaded,
+        @JsonProperty("model_version") String modelVersion,
+        /**
+         * Formatos de cuerpo que acepta /predict ("json", "cbor"); null en versiones que solo hablan JSON.
+         */
+        @JsonProperty("wire_formats") List<String> wireFormats
+) {
+
+    public boolean supports(String wireFormat) {
+        return wireFormats != null && wireFormats.contains(wireFormat);
+    }
+}
@@ -0,0 +1,19 @@
+package com.one8.sentiment_tech_api.dtos.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+/**
+ * Predicción guardada en el historial. El texto solo viene si se pidió includeText=true.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SentimentLogDTO(
+
+        long id,
+        String prevision,
+        double probabilidad,
+        LocalDateTime createdAt,
+        String text
+) {
+}
@@ -0,0 +1,14 @@
+package com.one8.sentiment_tech_api.dtos.response;
+
+import java.util.List;
+
+/**
+ * Página del historial. nextCursor se pasa como parámetro "cursor" en la siguiente consulta;
+ * es null si no hay más resultados.
+ */
+public record SentimentLogPageDTO(
+
+        List<SentimentLogDTO> results,
+        String nextCursor
+) {
+}
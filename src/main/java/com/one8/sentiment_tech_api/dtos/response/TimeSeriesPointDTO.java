@@ -0,0 +1,14 @@
+package com.one8.sentiment_tech_api.dtos.response;
+
+import java.time.LocalDateTime;
+
+public record TimeSeriesPointDTO(
+
+        LocalDateTime bucketStart,
+        long total,
+        long positivos,
+        long negativos,
+        long neutros,
+        double probabilidadMedia
+) {
+}
@@ -0,0 +1,78 @@
+package com.one8.sentiment_tech_api.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "batch_jobs")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BatchJob {
+
+    @Id
+    private UUID id;
+
+    private String filename;
+
+    /**
+     * Id del tenant que subió el archivo (nunca su API key); sus filas consumen la cuota batch de ese tenant.
+     */
+    private String tenant;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private BatchJobStatus status;
+
+    @Column(nullable = false)
+    private int totalRows;
+
+    @Column(nullable = false)
+    private int processedRows;
+
+    @Column(nullable = false)
+    private int failedRows;
+
+    @Column(nullable = false)
+    private int totalPositives;
+
+    @Column(nullable = false)
+    private int totalNeutrals;
+
+    @Column(nullable = false)
+    private int totalNegatives;
+
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private int modelCallsSaved;
+
+    @Column(columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime completedAt;
+
+    private LocalDateTime updatedAt;
+
+    /**
+     * Instancia que procesa el job y hasta cuándo lo tiene reservado (reloj de la base). Los
+     * actualiza BatchJobServiceImpl con SQL condicional, nunca a través de la entidad.
+     */
+    @Column(insertable = false, updatable = false)
+    private String leaseOwner;
+
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime leaseUntil;
+}
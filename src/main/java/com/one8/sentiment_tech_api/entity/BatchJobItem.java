@@ -0,0 +1,36 @@
+package com.one8.sentiment_tech_api.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Fila de un {@link BatchJob}. Mientras prediction es null la fila está pendiente;
+ * al reanudar un job solo se procesan las filas pendientes.
+ */
+@Entity
+@Table(name = "batch_job_items")
+@IdClass(BatchJobItemId.class)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BatchJobItem {
+
+    @Id
+    private UUID jobId;
+
+    @Id
+    private int rowIndex;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String text;
+
+    private String prediction;
+
+    private Double probability;
+}
@@ -0,0 +1,17 @@
+package com.one8.sentiment_tech_api.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchJobItemId implements Serializable {
+
+    private UUID jobId;
+    private int rowIndex;
+}
@@ -0,0 +1,8 @@
+package com.one8.sentiment_tech_api.entity;
+
+public enum BatchJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
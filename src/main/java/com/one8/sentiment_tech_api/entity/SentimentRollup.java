@@ -0,0 +1,39 @@
+package com.one8.sentiment_tech_api.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Conteo y suma de probabilidades por etiqueta en un intervalo (minuto, hora o día).
+ * Se actualiza de forma incremental al guardar cada lote de {@link SentimentLog}.
+ */
+@Entity
+@Table(name = "sentiment_rollups")
+@IdClass(SentimentRollupId.class)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SentimentRollup {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private RollupBucket bucketType;
+
+    @Id
+    private LocalDateTime bucketStart;
+
+    @Id
+    private String label;
+
+    @Column(nullable = false)
+    private long total;
+
+    @Column(nullable = false)
+    private double probabilitySum;
+}
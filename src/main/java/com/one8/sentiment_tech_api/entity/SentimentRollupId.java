@@ -0,0 +1,18 @@
+package com.one8.sentiment_tech_api.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SentimentRollupId implements Serializable {
+
+    private RollupBucket bucketType;
+    private LocalDateTime bucketStart;
+    private String label;
+}
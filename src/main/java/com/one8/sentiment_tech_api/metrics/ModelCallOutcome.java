@@ -0,0 +1,15 @@
+package com.one8.sentiment_tech_api.metrics;
+
+/**
+ * Resultado de una llamada HTTP al modelo tal como se etiqueta en {@link SentimentMetrics#MODEL_LATENCY}.
+ * Un 4xx es un error de la petición: no cuenta como éxito ni como fallo de la réplica.
+ */
+public enum ModelCallOutcome {
+    SUCCESS,
+    CLIENT_ERROR,
+    ERROR;
+
+    public String tag() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,132 @@
+package com.one8.sentiment_tech_api.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Métricas de negocio de cada etapa de una predicción. La latencia de los endpoints la publica
+ * Spring MVC como {@code http.server.requests}; los histogramas de percentiles se activan en
+ * {@code management.metrics.distribution} (application.yaml).
+ */
+@Component
+public class SentimentMetrics {
+
+    public static final String MODEL_LATENCY = "sentiment.model.latency";
+    public static final String SAVE_LOG_LATENCY = "sentiment.log.save";
+    public static final String CSV_PARSE_LATENCY = "sentiment.csv.parse";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> predictionsByLabel = new ConcurrentHashMap<>();
+    private final Map<String, Counter> failuresByType = new ConcurrentHashMap<>();
+    private final Map<String, Timer> modelTimers = new ConcurrentHashMap<>();
+    private final Timer saveLogTimer;
+    private final Timer csvParseTimer;
+    private final DistributionSummary modelBatchSize;
+    private final Counter batchRowsSucceeded;
+    private final Counter batchRowsFailed;
+    private final Counter batchRowsDeduplicated;
+    private final Counter coalescedPredictions;
+    private final AtomicInteger batchRowsInFlight = new AtomicInteger();
+    private final AtomicInteger activeBatches = new AtomicInteger();
+
+    public SentimentMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.saveLogTimer = Timer.builder(SAVE_LOG_LATENCY)
+                .description("Tiempo de registrar una predicción (encolado o escritura en la base)")
+                .register(meterRegistry);
+        this.csvParseTimer = Timer.builder(CSV_PARSE_LATENCY)
+                .description("Tiempo de leer y validar un archivo CSV completo")
+                .register(meterRegistry);
+        this.modelBatchSize = DistributionSummary.builder("sentiment.model.batch.size")
+                .description("Textos por llamada a /predict/batch")
+                .register(meterRegistry);
+        this.batchRowsSucceeded = batchRowsCounter("success");
+        this.batchRowsFailed = batchRowsCounter("failed");
+        this.batchRowsDeduplicated = Counter.builder("sentiment.batch.rows.deduplicated")
+                .description("Filas de CSV con un texto repetido que no fueron al modelo")
+                .register(meterRegistry);
+        this.coalescedPredictions = Counter.builder("sentiment.predictions.coalesced")
+                .description("Predicciones que se sumaron a una llamada al modelo ya en curso para el mismo texto")
+                .register(meterRegistry);
+
+        Gauge.builder("sentiment.batch.rows.inflight", batchRowsInFlight, AtomicInteger::get)
+                .description("Filas de CSV que se están puntuando en este momento")
+                .register(meterRegistry);
+        Gauge.builder("sentiment.batch.active", activeBatches, AtomicInteger::get)
+                .description("Archivos CSV en procesamiento")
+                .register(meterRegistry);
+    }
+
+    public void recordPrediction(String label) {
+        predictionsByLabel.computeIfAbsent(label == null ? "desconocido" : label, key -> Counter.builder("sentiment.predictions")
+                .tag("label", key)
+                .description("Predicciones devueltas por etiqueta")
+                .register(meterRegistry)).increment();
+    }
+
+    public void recordFailure(String type) {
+        failuresByType.computeIfAbsent(type, key -> Counter.builder("sentiment.prediction.failures")
+                .tag("type", key)
+                .description("Predicciones fallidas por tipo de error")
+                .register(meterRegistry)).increment();
+    }
+
+    public void recordModelCall(String operation, ModelCallOutcome outcome, long nanos) {
+        modelTimers.computeIfAbsent(operation + ':' + outcome.tag(), key -> Timer.builder(MODEL_LATENCY)
+                .tag("operation", operation)
+                .tag("outcome", outcome.tag())
+                .description("Ida y vuelta al microservicio del modelo")
+                .register(meterRegistry)).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordModelBatchSize(int size) {
+        modelBatchSize.record(size);
+    }
+
+    public Timer saveLogTimer() {
+        return saveLogTimer;
+    }
+
+    public Timer csvParseTimer() {
+        return csvParseTimer;
+    }
+
+    /**
+     * Filas puntuadas; {@code rate()} de este contador da las filas por segundo.
+     */
+    public void recordBatchRow(boolean success) {
+        (success ? batchRowsSucceeded : batchRowsFailed).increment();
+    }
+
+    public void recordBatchDuplicates(int rows) {
+        batchRowsDeduplicated.increment(rows);
+    }
+
+    public void recordCoalesced() {
+        coalescedPredictions.increment();
+    }
+
+    public AtomicInteger batchRowsInFlight() {
+        return batchRowsInFlight;
+    }
+
+    public AtomicInteger activeBatches() {
+        return activeBatches;
+    }
+
+    private Counter batchRowsCounter(String outcome) {
+        return Counter.builder("sentiment.batch.rows")
+                .tag("outcome", outcome)
+                .description("Filas de CSV puntuadas")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,305 @@
+package com.one8.sentiment_tech_api.nlp;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.one8.sentiment_tech_api.dtos.response.SentimentResponseDTO;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Pipeline TF-IDF + clasificador lineal exportado por {@code model-api/export_model.py}, evaluado
+ * en la JVM. Reproduce {@code predecir_textos} de main.py: limpieza con {@link TextNormalizer},
+ * n-gramas de palabras de al menos dos caracteres, TF-IDF con norma L2 y {@code predict_proba}
+ * del clasificador. Todo el cálculo usa arreglos primitivos; los pesos se guardan por columna para
+ * recorrer solo las columnas presentes en el texto.
+ */
+public final class LinearSentimentModel {
+
+    private static final int SUPPORTED_FORMAT_VERSION = 1;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+", Pattern.UNICODE_CHARACTER_CLASS);
+
+    enum ClassifierType {
+        CALIBRATED_SIGMOID, LOGISTIC_SOFTMAX, LOGISTIC_OVR
+    }
+
+    private final String version;
+    private final String[] classes;
+    private final TermIndex vocabulary;
+    private final double[] idf;
+    private final int minN;
+    private final int maxN;
+    private final boolean sublinearTf;
+    private final boolean l2Norm;
+    private final ClassifierType type;
+    private final int members;
+    /**
+     * Funciones de decisión por miembro: 1 si el problema es binario, una por clase si no.
+     */
+    private final int rows;
+    /**
+     * Pesos indexados como [columna][miembro][fila].
+     */
+    private final double[] weights;
+    /**
+     * Interceptos y calibración sigmoide indexados como [miembro][fila].
+     */
+    private final double[] intercepts;
+    private final double[] sigmoidA;
+    private final double[] sigmoidB;
+
+    private LinearSentimentModel(ExportedModel exported) {
+        if (exported.formatVersion() != SUPPORTED_FORMAT_VERSION) {
+            throw new IllegalArgumentException("Versión de formato no soportada: " + exported.formatVersion());
+        }
+        ExportedVectorizer vectorizer = exported.vectorizer();
+        ExportedClassifier classifier = exported.classifier();
+
+        this.version = exported.modelVersion();
+        this.classes = exported.classes().toArray(String[]::new);
+        this.vocabulary = new TermIndex(vectorizer.vocabulary().toArray(String[]::new));
+        this.idf = vectorizer.idf();
+        this.minN = vectorizer.ngramRange()[0];
+        this.maxN = vectorizer.ngramRange()[1];
+        this.sublinearTf = vectorizer.sublinearTf();
+        this.l2Norm = "l2".equals(vectorizer.norm());
+        this.type = ClassifierType.valueOf(classifier.type().toUpperCase());
+        this.members = classifier.members().size();
+        this.rows = classes.length == 2 ? 1 : classes.length;
+
+        int features = vocabulary.size();
+        if (idf.length != features) {
+            throw new IllegalArgumentException("idf y vocabulario tienen tamaños distintos");
+        }
+
+        this.weights = new double[features * members * rows];
+        this.intercepts = new double[members * rows];
+        this.sigmoidA = new double[members * rows];
+        this.sigmoidB = new double[members * rows];
+
+        for (int m = 0; m < members; m++) {
+            ExportedMember member = classifier.members().get(m);
+            if (member.coef().length != rows || member.intercept().length != rows) {
+                throw new IllegalArgumentException("El miembro " + m + " no tiene " + rows + " funciones de decisión");
+            }
+            for (int r = 0; r < rows; r++) {
+                double[] coef = member.coef()[r];
+                if (coef.length != features) {
+                    throw new IllegalArgumentException("coef con " + coef.length + " columnas, se esperaban " + features);
+                }
+                for (int j = 0; j < features; j++) {
+                    weights[(j * members + m) * rows + r] = coef[j];
+                }
+                intercepts[m * rows + r] = member.intercept()[r];
+                if (type == ClassifierType.CALIBRATED_SIGMOID) {
+                    sigmoidA[m * rows + r] = member.sigmoidA()[r];
+                    sigmoidB[m * rows + r] = member.sigmoidB()[r];
+                }
+            }
+        }
+    }
+
+    public static LinearSentimentModel load(InputStream in, JsonMapper jsonMapper) throws IOException {
+        return new LinearSentimentModel(jsonMapper.readValue(in, ExportedModel.class));
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public int getVocabularySize() {
+        return vocabulary.size();
+    }
+
+    public SentimentResponseDTO predict(String text) {
+        String cleaned = TextNormalizer.normalize(text);
+        if (cleaned.isEmpty()) {
+            // Igual que main.py: texto vacío tras la limpieza
+            return new SentimentResponseDTO("neutral", 0.0);
+        }
+
+        double[] proba = predictProba(cleaned);
+        int best = 0;
+        for (int c = 1; c < proba.length; c++) {
+            if (proba[c] > proba[best]) {
+                best = c;
+            }
+        }
+        // round(x, 4) de Python redondea el valor binario exacto, no su representación decimal
+        double probability = new BigDecimal(proba[best]).setScale(4, RoundingMode.HALF_EVEN).doubleValue();
+        return new SentimentResponseDTO(classes[best], probability);
+    }
+
+    /**
+     * {@code predict_proba} sobre un texto ya limpio, en el orden de las clases exportadas.
+     */
+    double[] predictProba(String cleaned) {
+        String[] tokens = tokenize(cleaned);
+
+        int[] columns = new int[tokens.length * (maxN - minN + 1)];
+        int found = 0;
+        for (int n = minN; n <= maxN; n++) {
+            for (int i = 0; i + n <= tokens.length; i++) {
+                String gram = n == 1 ? tokens[i] : String.join(" ", Arrays.asList(tokens).subList(i, i + n));
+                int column = vocabulary.indexOf(gram);
+                if (column >= 0) {
+                    columns[found++] = column;
+                }
+            }
+        }
+        Arrays.sort(columns, 0, found);
+
+        // Conteo por columna (ya ordenadas) y ponderación TF-IDF
+        int[] indices = new int[found];
+        double[] values = new double[found];
+        int nonZero = 0;
+        for (int k = 0; k < found; ) {
+            int column = columns[k];
+            int tf = 0;
+            while (k < found && columns[k] == column) {
+                tf++;
+                k++;
+            }
+            double weight = sublinearTf ? 1.0 + Math.log(tf) : tf;
+            indices[nonZero] = column;
+            values[nonZero++] = weight * idf[column];
+        }
+        if (l2Norm) {
+            double sumSquares = 0.0;
+            for (int k = 0; k < nonZero; k++) {
+                sumSquares += values[k] * values[k];
+            }
+            if (sumSquares > 0.0) {
+                double norm = Math.sqrt(sumSquares);
+                for (int k = 0; k < nonZero; k++) {
+                    values[k] /= norm;
+                }
+            }
+        }
+
+        double[] proba = new double[classes.length];
+        double[] decision = new double[rows];
+        double[] memberProba = new double[classes.length];
+        for (int m = 0; m < members; m++) {
+            System.arraycopy(intercepts, m * rows, decision, 0, rows);
+            for (int k = 0; k < nonZero; k++) {
+                int base = (indices[k] * members + m) * rows;
+                double value = values[k];
+                for (int r = 0; r < rows; r++) {
+                    decision[r] += weights[base + r] * value;
+                }
+            }
+            memberProbabilities(m, decision, memberProba);
+            for (int c = 0; c < proba.length; c++) {
+                proba[c] += memberProba[c];
+            }
+        }
+        for (int c = 0; c < proba.length; c++) {
+            proba[c] /= members;
+        }
+        return proba;
+    }
+
+    private void memberProbabilities(int member, double[] decision, double[] out) {
+        switch (type) {
+            case CALIBRATED_SIGMOID -> {
+                for (int r = 0; r < rows; r++) {
+                    int i = member * rows + r;
+                    // _SigmoidCalibration.predict: expit(-(a * f + b))
+                    out[rows == 1 ? 1 : r] = 1.0 / (1.0 + Math.exp(sigmoidA[i] * decision[r] + sigmoidB[i]));
+                }
+                normalize(out);
+                for (int c = 0; c < out.length; c++) {
+                    if (out[c] > 1.0 && out[c] <= 1.0 + 1e-5) {
+                        out[c] = 1.0;
+                    }
+                }
+            }
+            case LOGISTIC_OVR -> {
+                for (int r = 0; r < rows; r++) {
+                    out[rows == 1 ? 1 : r] = 1.0 / (1.0 + Math.exp(-decision[r]));
+                }
+                normalize(out);
+            }
+            case LOGISTIC_SOFTMAX -> {
+                double max = Double.NEGATIVE_INFINITY;
+                for (int r = 0; r < rows; r++) {
+                    max = Math.max(max, decision[r]);
+                }
+                double sum = 0.0;
+                for (int r = 0; r < rows; r++) {
+                    out[r] = Math.exp(decision[r] - max);
+                    sum += out[r];
+                }
+                for (int r = 0; r < rows; r++) {
+                    out[r] /= sum;
+                }
+            }
+        }
+    }
+
+    /**
+     * Binario: completa la clase negativa. Multiclase: divide por la suma (uniforme si es 0).
+     */
+    private void normalize(double[] proba) {
+        if (rows == 1) {
+            proba[0] = 1.0 - proba[1];
+            return;
+        }
+        double sum = 0.0;
+        for (double p : proba) {
+            sum += p;
+        }
+        for (int c = 0; c < proba.length; c++) {
+            proba[c] = sum != 0.0 ? proba[c] / sum : 1.0 / proba.length;
+        }
+    }
+
+    /**
+     * token_pattern {@code (?u)\b\w\w+\b} sobre un texto que ya solo tiene palabras y espacios.
+     */
+    private static String[] tokenize(String cleaned) {
+        String[] words = WHITESPACE.split(cleaned);
+        int kept = 0;
+        for (String word : words) {
+            if (word.codePointCount(0, word.length()) >= 2) {
+                words[kept++] = word;
+            }
+        }
+        return kept == words.length ? words : Arrays.copyOf(words, kept);
+    }
+
+    record ExportedModel(
+            @JsonProperty("format_version") int formatVersion,
+            @JsonProperty("model_version") String modelVersion,
+            List<String> classes,
+            ExportedVectorizer vectorizer,
+            ExportedClassifier classifier
+    ) {
+    }
+
+    record ExportedVectorizer(
+            @JsonProperty("ngram_range") int[] ngramRange,
+            @JsonProperty("sublinear_tf") boolean sublinearTf,
+            String norm,
+            List<String> vocabulary,
+            double[] idf
+    ) {
+    }
+
+    record ExportedClassifier(String type, List<ExportedMember> members) {
+    }
+
+    record ExportedMember(
+            double[][] coef,
+            double[] intercept,
+            @JsonProperty("sigmoid_a") double[] sigmoidA,
+            @JsonProperty("sigmoid_b") double[] sigmoidB
+    ) {
+    }
+}
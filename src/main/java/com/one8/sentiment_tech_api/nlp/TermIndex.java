@@ -0,0 +1,57 @@
+package com.one8.sentiment_tech_api.nlp;
+
+/**
+ * Tabla hash de direccionamiento abierto término → índice de columna, sin boxing de los índices.
+ * Inmutable después de construirse.
+ */
+final class TermIndex {
+
+    private final String[] keys;
+    private final int[] values;
+    private final int mask;
+    private final int size;
+
+    TermIndex(String[] terms) {
+        int capacity = Integer.highestOneBit(Math.max(2, terms.length * 2 - 1)) << 1;
+        this.keys = new String[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+        this.size = terms.length;
+
+        for (int i = 0; i < terms.length; i++) {
+            int slot = slot(terms[i]);
+            while (keys[slot] != null) {
+                if (keys[slot].equals(terms[i])) {
+                    throw new IllegalArgumentException("Término duplicado en el vocabulario: " + terms[i]);
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = terms[i];
+            values[slot] = i;
+        }
+    }
+
+    /**
+     * Índice de columna del término, o -1 si no está en el vocabulario.
+     */
+    int indexOf(String term) {
+        int slot = slot(term);
+        String key;
+        while ((key = keys[slot]) != null) {
+            if (key.equals(term)) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int slot(String term) {
+        int h = term.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,60 @@
+package com.one8.sentiment_tech_api.nlp;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Réplica en Java de {@code limpiar_texto_para_modelo} (model-api/main.py):
+ * minúsculas, eliminación de caracteres especiales y filtrado de stopwords
+ * preservando las negaciones. Dos textos con la misma forma normalizada
+ * reciben la misma predicción del modelo.
+ */
+public final class TextNormalizer {
+
+    private static final Pattern SPECIAL_CHARS = Pattern.compile("[^\\w\\s]", Pattern.UNICODE_CHARACTER_CLASS);
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+", Pattern.UNICODE_CHARACTER_CLASS);
+
+    private static final Set<String> STOP_WORDS_MANUAL = Set.of(
+            "de", "la", "que", "el", "en", "y", "a", "los", "del", "se", "las", "por", "un", "para",
+            "con", "una", "su", "al", "lo", "como", "mas", "pero", "sus", "le", "ya", "o", "este",
+            "si", "porque", "esta", "entre", "cuando", "muy", "sin", "sobre", "tambien", "me", "hasta",
+            "hay", "donde", "quien", "desde", "todo", "nos", "durante", "todos", "uno", "les",
+            "contra", "otros", "ese", "eso", "ante", "ellos", "e", "esto", "mi", "antes", "algunos",
+            "unos", "yo", "otro", "otras", "otra", "cual", "poco", "ella", "estar",
+            "estas", "algunas", "algo", "nosotros", "mis", "tu", "te", "ti", "tus",
+            "ellas", "nosotras", "vosotros", "vosotras", "os", "mio", "mia", "mios", "mias", "tuyo",
+            "tuya", "tuyos", "tuyas", "suyo", "suya", "suyos", "suyas", "nuestro", "nuestra",
+            "nuestros", "nuestras", "vuestro", "vuestra", "vuestros", "vuestras", "es", "son", "fue",
+            "era", "eramos", "fui", "fuiste", "fueron"
+    );
+
+    private static final Set<String> NEGACIONES_A_PRESERVAR = Set.of("no", "ni", "nunca", "jamas", "tampoco", "nada", "sin");
+
+    private TextNormalizer() {
+    }
+
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+
+        String cleaned = SPECIAL_CHARS.matcher(text.toLowerCase(Locale.ROOT)).replaceAll("");
+
+        StringBuilder result = new StringBuilder(cleaned.length());
+        for (String word : WHITESPACE.split(cleaned)) {
+            if (word.isEmpty() || isStopWord(word)) {
+                continue;
+            }
+            if (!result.isEmpty()) {
+                result.append(' ');
+            }
+            result.append(word);
+        }
+        return result.toString();
+    }
+
+    public static boolean isStopWord(String word) {
+        return STOP_WORDS_MANUAL.contains(word) && !NEGACIONES_A_PRESERVAR.contains(word);
+    }
+}
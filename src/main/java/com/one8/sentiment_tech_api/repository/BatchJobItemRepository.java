@@ -0,0 +1,17 @@
+package com.one8.sentiment_tech_api.repository;
+
+import com.one8.sentiment_tech_api.entity.BatchJobItem;
+import com.one8.sentiment_tech_api.entity.BatchJobItemId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface BatchJobItemRepository extends JpaRepository<BatchJobItem, BatchJobItemId> {
+
+    List<BatchJobItem> findByJobIdAndRowIndexGreaterThanAndPredictionIsNotNullOrderByRowIndexAsc(
+            UUID jobId, int rowIndex, Pageable pageable);
+}
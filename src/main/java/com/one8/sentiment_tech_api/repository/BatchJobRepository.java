@@ -0,0 +1,11 @@
+package com.one8.sentiment_tech_api.repository;
+
+import com.one8.sentiment_tech_api.entity.BatchJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface BatchJobRepository extends JpaRepository<BatchJob, UUID> {
+}
@@ -0,0 +1,9 @@
+package com.one8.sentiment_tech_api.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Última fila de una página del historial; la siguiente página empieza justo después de (createdAt, id).
+ */
+public record SentimentLogCursor(LocalDateTime createdAt, long id) {
+}
@@ -0,0 +1,16 @@
+package com.one8.sentiment_tech_api.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filtros opcionales del historial de predicciones; los campos null no filtran.
+ * from es inclusivo y to exclusivo.
+ */
+public record SentimentLogFilter(
+        String label,
+        Double minProbability,
+        Double maxProbability,
+        LocalDateTime from,
+        LocalDateTime to
+) {
+}
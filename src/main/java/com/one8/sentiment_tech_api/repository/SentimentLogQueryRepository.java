@@ -0,0 +1,18 @@
+package com.one8.sentiment_tech_api.repository;
+
+import com.one8.sentiment_tech_api.dtos.response.SentimentLogDTO;
+
+import java.util.List;
+
+/**
+ * Consultas del historial de sentiment_logs paginadas por cursor sobre (created_at, id).
+ */
+public interface SentimentLogQueryRepository {
+
+    /**
+     * Filas más recientes que cumplen el filtro, en orden (created_at, id) descendente.
+     * @param after cursor de la página anterior, o null para la primera página
+     * @param includeText si es false la columna text no se lee
+     */
+    List<SentimentLogDTO> findPage(SentimentLogFilter filter, SentimentLogCursor after, int limit, boolean includeText);
+}
@@ -0,0 +1,64 @@
+package com.one8.sentiment_tech_api.repository;
+
+import com.one8.sentiment_tech_api.dtos.response.SentimentLogDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Arma el SQL solo con los filtros presentes para que PostgreSQL use los índices
+ * (created_at DESC, id DESC) y (prediction, created_at DESC, id DESC) de V2. La condición
+ * de cursor compara filas, así que una página profunda recorre lo mismo que la primera.
+ */
+@RequiredArgsConstructor
+class SentimentLogQueryRepositoryImpl implements SentimentLogQueryRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<SentimentLogDTO> findPage(SentimentLogFilter filter, SentimentLogCursor after, int limit, boolean includeText) {
+        StringBuilder sql = new StringBuilder("SELECT id, prediction, probability, created_at")
+                .append(includeText ? ", text" : "")
+                .append(" FROM sentiment_logs WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+
+        if (filter.label() != null) {
+            sql.append(" AND prediction = ?");
+            args.add(filter.label());
+        }
+        if (filter.minProbability() != null) {
+            sql.append(" AND probability >= ?");
+            args.add(filter.minProbability());
+        }
+        if (filter.maxProbability() != null) {
+            sql.append(" AND probability <= ?");
+            args.add(filter.maxProbability());
+        }
+        if (filter.from() != null) {
+            sql.append(" AND created_at >= ?");
+            args.add(Timestamp.valueOf(filter.from()));
+        }
+        if (filter.to() != null) {
+            sql.append(" AND created_at < ?");
+            args.add(Timestamp.valueOf(filter.to()));
+        }
+        if (after != null) {
+            sql.append(" AND (created_at, id) < (?, ?)");
+            args.add(Timestamp.valueOf(after.createdAt()));
+            args.add(after.id());
+        }
+        sql.append(" ORDER BY created_at DESC, id DESC LIMIT ?");
+        args.add(limit);
+
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> new SentimentLogDTO(
+                rs.getLong("id"),
+                rs.getString("prediction"),
+                rs.getDouble("probability"),
+                rs.getTimestamp("created_at").toLocalDateTime(),
+                includeText ? rs.getString("text") : null
+        ), args.toArray());
+    }
+}
@@ -3,13 +3,15 @@ package com.one8.sentiment_tech_api.repository;
 import com.one8.sentiment_tech_api.entity.SentimentLog;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 
 @Repository
-public interface SentimentRepository extends JpaRepository<SentimentLog, Long> {
+public interface SentimentRepository extends JpaRepository<SentimentLog, Long>, SentimentLogQueryRepository {
 
-    List<SentimentLog> findAllByOrderByCreatedAtDesc(Pageable pageable);
+    @Query("select s.prediction from SentimentLog s order by s.createdAt desc")
+    List<String> findRecentPredictions(Pageable pageable);
 }
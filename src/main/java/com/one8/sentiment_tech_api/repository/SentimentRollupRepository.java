@@ -0,0 +1,17 @@
+package com.one8.sentiment_tech_api.repository;
+
+import com.one8.sentiment_tech_api.entity.RollupBucket;
+import com.one8.sentiment_tech_api.entity.SentimentRollup;
+import com.one8.sentiment_tech_api.entity.SentimentRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SentimentRollupRepository extends JpaRepository<SentimentRollup, SentimentRollupId> {
+
+    List<SentimentRollup> findByBucketTypeAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStartAsc(
+            RollupBucket bucketType, LocalDateTime from, LocalDateTime to);
+}
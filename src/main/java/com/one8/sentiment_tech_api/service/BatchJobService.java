@@ -0,0 +1,22 @@
+package com.one8.sentiment_tech_api.service;
+
+import com.one8.sentiment_tech_api.dtos.response.BatchJobResultsPageDTO;
+import com.one8.sentiment_tech_api.dtos.response.BatchJobStatusDTO;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.UUID;
+
+public interface BatchJobService {
+
+    /**
+     * Guarda las filas del CSV y encola el job para procesarlo en segundo plano.
+     */
+    BatchJobStatusDTO submit(MultipartFile file);
+
+    BatchJobStatusDTO getStatus(UUID jobId);
+
+    /**
+     * Resultados ya puntuados con fila mayor a {@code after}, en orden de fila.
+     */
+    BatchJobResultsPageDTO getResults(UUID jobId, int after, int size);
+}
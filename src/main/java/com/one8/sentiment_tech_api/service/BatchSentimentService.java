@@ -1,8 +1,30 @@
 package com.one8.sentiment_tech_api.service;
 
 import com.one8.sentiment_tech_api.dtos.response.BatchSentimentResponseDTO;
+import com.one8.sentiment_tech_api.dtos.response.TextSentimentResultDTO;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.Iterator;
+import java.util.function.Consumer;
+
 public interface BatchSentimentService {
-    BatchSentimentResponseDTO processBatchFromCsv(MultipartFile file);
-}
\ No newline at end of file
+
+    /**
+     * Procesa el CSV y devuelve las estadísticas. Los resultados por texto solo se
+     * incluyen (y se mantienen en memoria) si {@code includeResults} es true.
+     */
+    BatchSentimentResponseDTO processBatchFromCsv(MultipartFile file, boolean includeResults);
+
+    /**
+     * Procesa el CSV por bloques entregando cada resultado al consumidor en cuanto está listo.
+     * @return estadísticas del batch, sin la lista de resultados
+     */
+    BatchSentimentResponseDTO processBatchFromCsv(MultipartFile file, Consumer<TextSentimentResultDTO> resultConsumer);
+
+    /**
+     * Puntúa textos que ya están en memoria (POST /sentiment/bulk) con el mismo pipeline que el CSV.
+     * Los textos nulos o más cortos que el mínimo se devuelven como ERROR en su posición.
+     * @return estadísticas del lote, sin la lista de resultados
+     */
+    BatchSentimentResponseDTO processBulk(Iterator<String> texts, Consumer<TextSentimentResultDTO> resultConsumer);
+}
@@ -5,6 +5,8 @@ import com.one8.sentiment_tech_api.dtos.response.TextSentimentResultDTO;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface CsvProcessingService {
 
@@ -12,5 +14,26 @@ public interface CsvProcessingService {
 
     List<String> extractTextsFromCsv(MultipartFile file) throws Exception;
 
+    /**
+     * Lee el CSV de forma perezosa: cada texto válido se produce a medida que se consume el stream.
+     * El stream debe cerrarse para liberar el archivo.
+     */
+    Stream<String> streamTextsFromCsv(MultipartFile file);
+
     List<TextSentimentResultDTO> processBatchSentimentsWithText(List<String> texts, SentimentService sentimentService);
+
+    /**
+     * Puntúa los textos entregando cada resultado, en orden, en cuanto está disponible. Los textos
+     * con la misma forma normalizada se puntúan una sola vez; devuelve cuántas llamadas al modelo se
+     * ahorraron.
+     */
+    int processBatchSentimentsWithText(List<String> texts, SentimentService sentimentService,
+                                        Consumer<TextSentimentResultDTO> resultConsumer);
+
+    /**
+     * Igual que el anterior pero sin guardar los logs de predicción: quien llama los registra con
+     * {@link SentimentStatsService#saveLog} cuando los resultados ya son definitivos.
+     */
+    int processBatchSentimentsWithoutLogs(List<String> texts, SentimentService sentimentService,
+                                          Consumer<TextSentimentResultDTO> resultConsumer);
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.one8.sentiment_tech_api.service;
+
+import com.one8.sentiment_tech_api.dtos.response.SentimentLogPageDTO;
+import com.one8.sentiment_tech_api.repository.SentimentLogFilter;
+
+public interface SentimentLogService {
+
+    /**
+     * Página del historial de predicciones, de la más reciente a la más antigua.
+     * @param cursor nextCursor de la página anterior, o null para la primera
+     */
+    SentimentLogPageDTO findLogs(SentimentLogFilter filter, String cursor, int size, boolean includeText);
+}
@@ -3,6 +3,8 @@ package com.one8.sentiment_tech_api.service;
 import com.one8.sentiment_tech_api.dtos.request.SentimentRequestDTO;
 import com.one8.sentiment_tech_api.dtos.response.SentimentResponseDTO;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface SentimentService {
 
     /**
@@ -11,4 +13,19 @@ public interface SentimentService {
      * @return respuesta con la predicción y probabilidad
      */
     SentimentResponseDTO predict(SentimentRequestDTO request);
+
+    /**
+     * Igual que {@link #predict} pero sin guardar el resultado: quien llama decide cuándo registrarlo.
+     * @param request DTO con el texto a analizar
+     * @return respuesta con la predicción y probabilidad
+     */
+    SentimentResponseDTO score(SentimentRequestDTO request);
+
+    /**
+     * Igual que {@link #predict} pero sin bloquear al llamador. Por defecto se resuelve en el mismo
+     * hilo; las implementaciones con E/S no bloqueante lo sobrescriben.
+     */
+    default CompletableFuture<SentimentResponseDTO> predictAsync(SentimentRequestDTO request) {
+        return CompletableFuture.completedFuture(predict(request));
+    }
 }
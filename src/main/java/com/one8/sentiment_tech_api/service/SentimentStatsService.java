@@ -2,10 +2,20 @@ package com.one8.sentiment_tech_api.service;
 
 import com.one8.sentiment_tech_api.dtos.response.SentimentResponseDTO;
 import com.one8.sentiment_tech_api.dtos.response.SentimentStatsResponseDTO;
+import com.one8.sentiment_tech_api.dtos.response.TimeSeriesPointDTO;
+import com.one8.sentiment_tech_api.entity.RollupBucket;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface SentimentStatsService {
 
     void saveLog(String text, SentimentResponseDTO responseDTO);
 
     SentimentStatsResponseDTO getStats(int limit);
+
+    /**
+     * Serie temporal por intervalo leída solo de la tabla de rollups.
+     */
+    List<TimeSeriesPointDTO> getTimeSeries(LocalDateTime from, LocalDateTime to, RollupBucket bucket);
 }
@@ -0,0 +1,102 @@
+package com.one8.sentiment_tech_api.service.impl;
+
+import com.one8.sentiment_tech_api.config.BatchProcessingProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Ejecuta tareas por fila sobre hilos virtuales con un límite de tareas en vuelo.
+ * Los resultados se entregan en el mismo orden de entrada y el fallo de una fila
+ * se resuelve con el mapper de error sin afectar al resto.
+ * Si el hilo que invoca es interrumpido (p. ej. el cliente se desconectó), se cancelan
+ * las filas pendientes y se lanza {@link CancellationException}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BatchExecutor {
+
+    private final BatchProcessingProperties properties;
+
+    public <I, O> List<O> execute(List<I> inputs, Function<I, O> task, Function<I, O> errorMapper) {
+        List<O> results = new ArrayList<>(inputs.size());
+        execute(inputs, task, errorMapper, results::add);
+        return results;
+    }
+
+    /**
+     * Igual que {@link #execute(List, Function, Function)} pero entrega cada resultado al consumidor,
+     * en orden de entrada, apenas están listos él y todos los anteriores. El consumidor corre en el
+     * hilo que invoca; si lanza una excepción se cancelan las filas pendientes.
+     */
+    public <I, O> void execute(List<I> inputs, Function<I, O> task, Function<I, O> errorMapper, Consumer<O> consumer) {
+        int size = inputs.size();
+        Object[] results = new Object[size];
+        Semaphore inFlight = new Semaphore(Math.max(1, properties.getMaxInFlight()));
+        List<Future<?>> futures = new ArrayList<>(size);
+        int delivered = 0;
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            for (int i = 0; i < size; i++) {
+                inFlight.acquire();
+                int index = i;
+                I input = inputs.get(i);
+                futures.add(executor.submit(() -> {
+                    try {
+                        results[index] = task.apply(input);
+                    } catch (Exception e) {
+                        log.error("Error procesando elemento {}/{}: {}", index + 1, size, e.getMessage());
+                        results[index] = errorMapper.apply(input);
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+
+                // Entregar el prefijo ya completado sin esperar a enviar el resto
+                while (delivered < futures.size() && futures.get(delivered).isDone()) {
+                    deliver(futures, results, delivered++, consumer);
+                }
+            }
+
+            while (delivered < size) {
+                deliver(futures, results, delivered++, consumer);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+            log.warn("Procesamiento batch cancelado tras enviar {}/{} elementos", futures.size(), size);
+            throw new CancellationException("Procesamiento batch cancelado");
+        } catch (ExecutionException e) {
+            // Las tareas capturan sus propias excepciones; solo llegan aquí los Error
+            executor.shutdownNow();
+            throw new IllegalStateException("Fallo inesperado en el procesamiento batch", e.getCause());
+        } catch (RuntimeException e) {
+            // Falló el consumidor (p. ej. el cliente cerró la conexión)
+            executor.shutdownNow();
+            throw e;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <O> void deliver(List<Future<?>> futures, Object[] results, int index, Consumer<O> consumer)
+            throws InterruptedException, ExecutionException {
+        futures.get(index).get();
+        consumer.accept((O) results[index]);
+        results[index] = null;
+    }
+}
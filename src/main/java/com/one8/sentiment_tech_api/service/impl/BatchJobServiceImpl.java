@@ -0,0 +1,401 @@
+package com.one8.sentiment_tech_api.service.impl;
+
+import com.one8.sentiment_tech_api.client.resilience.TrafficClass;
+import com.one8.sentiment_tech_api.client.resilience.TrafficContext;
+import com.one8.sentiment_tech_api.config.BatchProcessingProperties;
+import com.one8.sentiment_tech_api.dtos.response.BatchJobResultDTO;
+import com.one8.sentiment_tech_api.dtos.response.BatchJobResultsPageDTO;
+import com.one8.sentiment_tech_api.dtos.response.BatchJobStatusDTO;
+import com.one8.sentiment_tech_api.dtos.response.BatchSentimentResponseDTO;
+import com.one8.sentiment_tech_api.dtos.response.TextSentimentResultDTO;
+import com.one8.sentiment_tech_api.entity.BatchJob;
+import com.one8.sentiment_tech_api.entity.BatchJobStatus;
+import com.one8.sentiment_tech_api.exceptions.CsvProcessingException;
+import com.one8.sentiment_tech_api.exceptions.ResourceNotFoundException;
+import com.one8.sentiment_tech_api.repository.BatchJobItemRepository;
+import com.one8.sentiment_tech_api.repository.BatchJobRepository;
+import com.one8.sentiment_tech_api.service.BatchJobService;
+import com.one8.sentiment_tech_api.service.CsvProcessingService;
+import com.one8.sentiment_tech_api.service.SentimentService;
+import com.one8.sentiment_tech_api.service.SentimentStatsService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Jobs batch asíncronos. Las filas del CSV se guardan en batch_job_items al recibir el archivo y
+ * se puntúan por bloques; cada bloque se confirma junto con los contadores del job en una sola
+ * transacción, así un reinicio retoma desde el último bloque confirmado.
+ * <p>
+ * Con varias instancias, cada job lo procesa solo la que lo reclamó: el reclamo es un UPDATE
+ * condicional que le da un lease, renovado periódicamente y con cada bloque. Un job en RUNNING
+ * solo se retoma cuando su lease venció (la instancia dueña murió o se apagó).
+ */
+@Slf4j
+@Service
+public class BatchJobServiceImpl implements BatchJobService {
+
+    private static final String INSERT_ITEM_SQL =
+            "INSERT INTO batch_job_items (job_id, row_index, text) VALUES (?, ?, ?)";
+    private static final String SELECT_PENDING_SQL =
+            "SELECT row_index, text FROM batch_job_items WHERE job_id = ? AND prediction IS NULL ORDER BY row_index LIMIT ?";
+    private static final String UPDATE_ITEM_SQL =
+            "UPDATE batch_job_items SET prediction = ?, probability = ? WHERE job_id = ? AND row_index = ?";
+    private static final String UPDATE_JOB_PROGRESS_SQL = """
+            UPDATE batch_jobs SET processed_rows = processed_rows + ?, failed_rows = failed_rows + ?,
+                   total_positives = total_positives + ?, total_neutrals = total_neutrals + ?,
+                   total_negatives = total_negatives + ?, model_calls_saved = model_calls_saved + ?, updated_at = ?,
+                   lease_until = LOCALTIMESTAMP + make_interval(secs => ?)
+            WHERE id = ? AND lease_owner = ?""";
+    /**
+     * Jobs en cola o cuyo lease venció; lease_until nulo es un job liberado o anterior a los leases.
+     */
+    private static final String CLAIMABLE_CONDITION =
+            "(status = 'QUEUED' OR (status = 'RUNNING' AND (lease_until IS NULL OR lease_until < LOCALTIMESTAMP)))";
+    private static final String SELECT_CLAIMABLE_SQL =
+            "SELECT id FROM batch_jobs WHERE " + CLAIMABLE_CONDITION + " ORDER BY created_at";
+    private static final String CLAIM_JOB_SQL = """
+            UPDATE batch_jobs SET status = 'RUNNING', lease_owner = ?,
+                   lease_until = LOCALTIMESTAMP + make_interval(secs => ?),
+                   started_at = COALESCE(started_at, ?), updated_at = ?
+            WHERE id = ? AND\s""" + CLAIMABLE_CONDITION;
+    private static final String RENEW_LEASES_SQL =
+            "UPDATE batch_jobs SET lease_until = LOCALTIMESTAMP + make_interval(secs => ?) WHERE lease_owner = ? AND status = 'RUNNING'";
+    private static final String RELEASE_LEASES_SQL =
+            "UPDATE batch_jobs SET lease_until = NULL WHERE lease_owner = ? AND status = 'RUNNING'";
+    private static final String FINISH_JOB_SQL = """
+            UPDATE batch_jobs SET status = ?, error_message = ?, completed_at = ?, updated_at = ?,
+                   lease_owner = NULL, lease_until = NULL
+            WHERE id = ? AND lease_owner = ?""";
+
+    private final BatchJobRepository jobRepository;
+    private final BatchJobItemRepository itemRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CsvProcessingService csvProcessingService;
+    private final SentimentService sentimentService;
+    private final SentimentStatsService sentimentStatsService;
+    private final BatchProcessingProperties properties;
+    private final ExecutorService jobExecutor;
+    /**
+     * Identifica a esta instancia como dueña de los jobs que reclama.
+     */
+    private final String instanceId = System.getenv().getOrDefault("HOSTNAME", "local") + "-" + UUID.randomUUID();
+    /**
+     * Jobs ya encolados en esta instancia, para no encolarlos de nuevo en cada barrido.
+     */
+    private final Set<UUID> scheduled = ConcurrentHashMap.newKeySet();
+
+    public BatchJobServiceImpl(BatchJobRepository jobRepository, BatchJobItemRepository itemRepository,
+                               JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                               CsvProcessingService csvProcessingService, SentimentService sentimentService,
+                               SentimentStatsService sentimentStatsService, BatchProcessingProperties properties) {
+        this.jobRepository = jobRepository;
+        this.itemRepository = itemRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.csvProcessingService = csvProcessingService;
+        this.sentimentService = sentimentService;
+        this.sentimentStatsService = sentimentStatsService;
+        this.properties = properties;
+        this.jobExecutor = Executors.newFixedThreadPool(Math.max(1, properties.getMaxConcurrentJobs()),
+                Thread.ofVirtual().name("batch-job-", 0).factory());
+    }
+
+    @Override
+    public BatchJobStatusDTO submit(MultipartFile file) {
+        csvProcessingService.validateCsvFile(file);
+
+        LocalDateTime now = LocalDateTime.now();
+        BatchJob job = BatchJob.builder()
+                .id(UUID.randomUUID())
+                .filename(file.getOriginalFilename())
+                .tenant(TrafficContext.currentTenant())
+                .status(BatchJobStatus.QUEUED)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            int rows = storeItems(job.getId(), file);
+            if (rows == 0) {
+                throw new CsvProcessingException("No se encontraron textos válidos (mínimo " + properties.getMinTextLength() + " caracteres) en el archivo CSV");
+            }
+            job.setTotalRows(rows);
+            jobRepository.save(job);
+        });
+
+        log.info("Job batch {} creado con {} filas del archivo {}", job.getId(), job.getTotalRows(), job.getFilename());
+        schedule(job.getId());
+        return toStatus(job);
+    }
+
+    @Override
+    public BatchJobStatusDTO getStatus(UUID jobId) {
+        return toStatus(findJob(jobId));
+    }
+
+    @Override
+    public BatchJobResultsPageDTO getResults(UUID jobId, int after, int size) {
+        findJob(jobId);
+
+        List<BatchJobResultDTO> results = itemRepository
+                .findByJobIdAndRowIndexGreaterThanAndPredictionIsNotNullOrderByRowIndexAsc(jobId, after, PageRequest.of(0, size))
+                .stream()
+                .map(item -> new BatchJobResultDTO(item.getRowIndex(), item.getText(), item.getPrediction(), item.getProbability()))
+                .toList();
+
+        Integer nextCursor = results.size() == size ? results.getLast().row() : null;
+        return new BatchJobResultsPageDTO(jobId, results, nextCursor);
+    }
+
+    /**
+     * Encola los jobs en cola o con el lease vencido; solo se procesan si esta instancia logra
+     * reclamarlos al empezar.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePendingJobs() {
+        List<UUID> claimable = jdbcTemplate.queryForList(SELECT_CLAIMABLE_SQL, UUID.class);
+        for (UUID jobId : claimable) {
+            if (schedule(jobId)) {
+                log.info("Job batch {} pendiente encolado para reanudar", jobId);
+            }
+        }
+    }
+
+    /**
+     * Renueva el lease de los jobs que procesa esta instancia y retoma los que quedaron sin dueño.
+     */
+    @Scheduled(fixedDelayString = "${app.batch.job-lease-renew-interval:30s}")
+    public void renewLeases() {
+        try {
+            jdbcTemplate.update(RENEW_LEASES_SQL, leaseSeconds(), instanceId);
+            resumePendingJobs();
+        } catch (DataAccessException e) {
+            log.warn("No se pudieron renovar los leases de los jobs batch: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        // Interrumpe los jobs en curso y libera sus leases para que otra instancia los retome
+        jobExecutor.shutdownNow();
+        jobExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        try {
+            jdbcTemplate.update(RELEASE_LEASES_SQL, instanceId);
+        } catch (DataAccessException e) {
+            log.warn("No se pudieron liberar los leases de los jobs batch; vencerán solos: {}", e.getMessage());
+        }
+    }
+
+    private boolean schedule(UUID jobId) {
+        if (!scheduled.add(jobId)) {
+            return false;
+        }
+        try {
+            jobExecutor.execute(() -> runJob(jobId));
+            return true;
+        } catch (RejectedExecutionException e) {
+            // Apagando: el job queda para otra instancia
+            scheduled.remove(jobId);
+            return false;
+        }
+    }
+
+    /**
+     * Reclama el job para esta instancia. Falla si otra instancia lo tiene con un lease vigente o
+     * si ya terminó.
+     */
+    private boolean claim(UUID jobId) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.update(CLAIM_JOB_SQL, instanceId, leaseSeconds(), now, now, jobId) == 1;
+    }
+
+    private double leaseSeconds() {
+        return properties.getJobLease().toMillis() / 1000.0;
+    }
+
+    private int storeItems(UUID jobId, MultipartFile file) {
+        int chunkSize = Math.max(1, properties.getChunkSize());
+        List<Object[]> chunk = new ArrayList<>(chunkSize);
+        int rowIndex = 0;
+
+        try (Stream<String> texts = csvProcessingService.streamTextsFromCsv(file)) {
+            for (String text : (Iterable<String>) texts::iterator) {
+                chunk.add(new Object[]{jobId, rowIndex++, text});
+                if (chunk.size() == chunkSize) {
+                    jdbcTemplate.batchUpdate(INSERT_ITEM_SQL, chunk);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ITEM_SQL, chunk);
+        }
+        return rowIndex;
+    }
+
+    private void runJob(UUID jobId) {
+        try {
+            if (!claim(jobId)) {
+                log.debug("Job batch {} ya lo procesa otra instancia o terminó", jobId);
+                return;
+            }
+            BatchJob job = findJob(jobId);
+            log.info("Procesando job batch {} ({}/{} filas procesadas)", jobId, job.getProcessedRows(), job.getTotalRows());
+
+            int chunkSize = Math.max(1, properties.getChunkSize());
+            while (!Thread.currentThread().isInterrupted()) {
+                List<PendingRow> pending = jdbcTemplate.query(SELECT_PENDING_SQL,
+                        (rs, rowNum) -> new PendingRow(rs.getInt("row_index"), rs.getString("text")), jobId, chunkSize);
+                if (pending.isEmpty()) {
+                    break;
+                }
+                List<String> texts = pending.stream().map(PendingRow::text).toList();
+                List<TextSentimentResultDTO> results = new ArrayList<>(texts.size());
+                int saved = TrafficContext.callAs(TrafficClass.BATCH, job.getTenant(),
+                        () -> csvProcessingService.processBatchSentimentsWithoutLogs(texts, sentimentService, results::add));
+                commitChunk(jobId, pending, results, saved);
+                saveLogs(results);
+            }
+
+            if (Thread.currentThread().isInterrupted()) {
+                log.info("Job batch {} interrumpido; se reanudará desde el último bloque confirmado", jobId);
+                return;
+            }
+
+            if (!finish(jobId, BatchJobStatus.COMPLETED, null)) {
+                throw new LeaseLostException();
+            }
+            BatchJob finished = findJob(jobId);
+            log.info("Job batch {} completado: {} filas, {} fallidas", jobId, finished.getProcessedRows(), finished.getFailedRows());
+
+        } catch (LeaseLostException e) {
+            log.warn("Job batch {}: otra instancia tomó el job tras vencer el lease; se deja de procesar aquí", jobId);
+        } catch (CancellationException e) {
+            log.info("Job batch {} cancelado por apagado; lo retomará otra instancia o el próximo arranque", jobId);
+        } catch (Exception e) {
+            log.error("Error procesando job batch {}: {}", jobId, e.getMessage());
+            try {
+                finish(jobId, BatchJobStatus.FAILED, e.getMessage());
+            } catch (DataAccessException ex) {
+                log.error("No se pudo marcar el job batch {} como fallido: {}", jobId, ex.getMessage());
+            }
+        } finally {
+            scheduled.remove(jobId);
+        }
+    }
+
+    private boolean finish(UUID jobId, BatchJobStatus status, String errorMessage) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.update(FINISH_JOB_SQL, status.name(), errorMessage, now, now, jobId, instanceId) == 1;
+    }
+
+    private void commitChunk(UUID jobId, List<PendingRow> rows, List<TextSentimentResultDTO> results, int modelCallsSaved) {
+        BatchStatisticsAccumulator statistics = new BatchStatisticsAccumulator();
+        statistics.addModelCallsSaved(modelCallsSaved);
+        List<Object[]> updates = new ArrayList<>(results.size());
+
+        for (int i = 0; i < results.size(); i++) {
+            TextSentimentResultDTO result = results.get(i);
+            statistics.add(result);
+            updates.add(new Object[]{result.sentiment().prevision(), result.sentiment().probabilidad(), jobId, rows.get(i).rowIndex()});
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(UPDATE_ITEM_SQL, updates);
+            BatchSentimentResponseDTO summary = statistics.toResponse(List.of());
+            int updated = jdbcTemplate.update(UPDATE_JOB_PROGRESS_SQL,
+                    summary.totalProcessed(), summary.failed(),
+                    summary.totalPositives(), summary.totalNeutrals(), summary.totalNegatives(),
+                    summary.modelCallsSaved(), Timestamp.valueOf(LocalDateTime.now()), leaseSeconds(), jobId, instanceId);
+            if (updated == 0) {
+                // Revierte el bloque: lo confirmará la instancia que tiene el job ahora
+                throw new LeaseLostException();
+            }
+        });
+    }
+
+    /**
+     * Los logs de un bloque se guardan solo una vez confirmado: si se revierte por perder el lease, la
+     * instancia que tiene el job vuelve a puntuar esas filas y guarda los suyos.
+     */
+    private void saveLogs(List<TextSentimentResultDTO> results) {
+        for (TextSentimentResultDTO result : results) {
+            // Las filas que fallaron no llegaron a tener predicción, igual que en el flujo síncrono
+            if (!"ERROR".equals(result.sentiment().prevision())) {
+                sentimentStatsService.saveLog(result.text(), result.sentiment());
+            }
+        }
+    }
+
+    private record PendingRow(int rowIndex, String text) {
+    }
+
+    /**
+     * El job ya no pertenece a esta instancia: su lease venció y otra lo reclamó.
+     */
+    private static final class LeaseLostException extends RuntimeException {
+    }
+
+    private BatchJob findJob(UUID jobId) {
+        return jobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("No existe el job batch " + jobId));
+    }
+
+    private BatchJobStatusDTO toStatus(BatchJob job) {
+        double percent = job.getTotalRows() == 0 ? 0.0
+                : Math.round(job.getProcessedRows() * 1000.0 / job.getTotalRows()) / 10.0;
+
+        double rowsPerSecond = 0.0;
+        if (job.getStartedAt() != null) {
+            LocalDateTime end = job.getCompletedAt() != null ? job.getCompletedAt() : LocalDateTime.now();
+            long millis = Duration.between(job.getStartedAt(), end).toMillis();
+            if (millis > 0) {
+                rowsPerSecond = Math.round(job.getProcessedRows() * 10_000.0 / millis) / 10.0;
+            }
+        }
+
+        return new BatchJobStatusDTO(
+                job.getId(),
+                job.getFilename(),
+                job.getStatus().name(),
+                job.getTotalRows(),
+                job.getProcessedRows(),
+                job.getFailedRows(),
+                percent,
+                rowsPerSecond,
+                job.getTotalPositives(),
+                job.getTotalNeutrals(),
+                job.getTotalNegatives(),
+                job.getModelCallsSaved(),
+                job.getErrorMessage(),
+                job.getCreatedAt(),
+                job.getStartedAt(),
+                job.getCompletedAt()
+        );
+    }
+}
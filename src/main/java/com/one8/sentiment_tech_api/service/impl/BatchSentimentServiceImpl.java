@@ -1,8 +1,11 @@
 package com.one8.sentiment_tech_api.service.impl;
 
+import com.one8.sentiment_tech_api.config.BatchProcessingProperties;
 import com.one8.sentiment_tech_api.dtos.response.BatchSentimentResponseDTO;
+import com.one8.sentiment_tech_api.dtos.response.SentimentResponseDTO;
 import com.one8.sentiment_tech_api.dtos.response.TextSentimentResultDTO;
 import com.one8.sentiment_tech_api.exceptions.CsvProcessingException;
+import com.one8.sentiment_tech_api.metrics.SentimentMetrics;
 import com.one8.sentiment_tech_api.service.BatchSentimentService;
 import com.one8.sentiment_tech_api.service.CsvProcessingService;
 import com.one8.sentiment_tech_api.service.SentimentService;
@@ -11,7 +14,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -20,76 +30,120 @@ public class BatchSentimentServiceImpl implements BatchSentimentService {
 
     private final CsvProcessingService csvProcessingService;
     private final SentimentService sentimentService;
+    private final BatchProcessingProperties properties;
+    private final SentimentMetrics metrics;
 
     @Override
-    public BatchSentimentResponseDTO processBatchFromCsv(MultipartFile file) {
+    public BatchSentimentResponseDTO processBatchFromCsv(MultipartFile file, boolean includeResults) {
+        if (!includeResults) {
+            return processBatchFromCsv(file, result -> { });
+        }
+
+        List<TextSentimentResultDTO> results = new ArrayList<>();
+        BatchSentimentResponseDTO summary = processBatchFromCsv(file, results::add);
+        return new BatchSentimentResponseDTO(
+                summary.totalProcessed(),
+                summary.successful(),
+                summary.failed(),
+                summary.totalPositives(),
+                summary.totalNeutrals(),
+                summary.totalNegatives(),
+                summary.modelCallsSaved(),
+                results
+        );
+    }
+
+    @Override
+    public BatchSentimentResponseDTO processBatchFromCsv(MultipartFile file, Consumer<TextSentimentResultDTO> resultConsumer) {
         log.info("Iniciando procesamiento batch del archivo: {}", file.getOriginalFilename());
 
         csvProcessingService.validateCsvFile(file);
 
-        try {
-            List<String> texts = csvProcessingService.extractTextsFromCsv(file);
-            List<TextSentimentResultDTO> results = csvProcessingService.processBatchSentimentsWithText(texts, sentimentService);
+        metrics.activeBatches().incrementAndGet();
+        try (Stream<String> texts = csvProcessingService.streamTextsFromCsv(file)) {
+            BatchStatisticsAccumulator statistics = processTexts(texts.iterator(), text -> true, resultConsumer);
 
-            BatchSentimentStatistics statistics = calculateStatistics(results);
+            if (statistics.totalProcessed() == 0) {
+                throw new CsvProcessingException("No se encontraron textos válidos (mínimo " + properties.getMinTextLength() + " caracteres) en el archivo CSV");
+            }
 
             log.info("Procesamiento completado: {}", statistics);
 
-            return new BatchSentimentResponseDTO(
-                    statistics.totalProcessed(),
-                    statistics.successful(),
-                    statistics.failed(),
-                    statistics.totalPositives(),
-                    statistics.totalNeutrals(),
-                    statistics.totalNegatives(),
-                    results
-            );
+            return statistics.toResponse(List.of());
 
+        } catch (CancellationException | UncheckedIOException e) {
+            // Apagado o cliente desconectado al recibir resultados: no es un error del CSV
+            throw e;
         } catch (Exception e) {
             log.error("Error procesando archivo CSV: {}", e.getMessage());
             throw new CsvProcessingException("Error procesando el archivo CSV: " + e.getMessage());
+        } finally {
+            metrics.activeBatches().decrementAndGet();
         }
     }
 
-    private BatchSentimentStatistics calculateStatistics(List<TextSentimentResultDTO> results) {
-        int successful = (int) results.stream()
-                .filter(r -> !"ERROR".equals(r.sentiment().prevision()))
-                .count();
-
-        int failed = results.size() - successful;
+    @Override
+    public BatchSentimentResponseDTO processBulk(Iterator<String> texts, Consumer<TextSentimentResultDTO> resultConsumer) {
+        metrics.activeBatches().incrementAndGet();
+        try {
+            BatchStatisticsAccumulator statistics = processTexts(texts,
+                    text -> text != null && text.length() >= properties.getMinTextLength(), resultConsumer);
+            log.info("Procesamiento bulk completado: {}", statistics);
+            return statistics.toResponse(List.of());
+        } finally {
+            metrics.activeBatches().decrementAndGet();
+        }
+    }
 
-        int totalPositives = (int) results.stream()
-                .filter(r -> !"ERROR".equals(r.sentiment().prevision())
-                        && "positivo".equalsIgnoreCase(r.sentiment().prevision()))
-                .count();
+    /**
+     * Lee los textos por bloques de {@code chunk-size} y puntúa cada bloque antes de leer el siguiente.
+     */
+    private BatchStatisticsAccumulator processTexts(Iterator<String> texts, Predicate<String> isValid,
+                                                    Consumer<TextSentimentResultDTO> resultConsumer) {
+        BatchStatisticsAccumulator statistics = new BatchStatisticsAccumulator();
+        int chunkSize = Math.max(1, properties.getChunkSize());
+        List<String> chunk = new ArrayList<>(chunkSize);
+
+        while (texts.hasNext()) {
+            chunk.add(texts.next());
+            if (chunk.size() == chunkSize) {
+                processChunk(chunk, isValid, statistics, resultConsumer);
+            }
+        }
+        processChunk(chunk, isValid, statistics, resultConsumer);
+        return statistics;
+    }
 
-        int totalNeutrals = (int) results.stream()
-                .filter(r -> !"ERROR".equals(r.sentiment().prevision())
-                        && "neutral".equalsIgnoreCase(r.sentiment().prevision()))
-                .count();
+    private void processChunk(List<String> chunk, Predicate<String> isValid, BatchStatisticsAccumulator statistics,
+                              Consumer<TextSentimentResultDTO> resultConsumer) {
+        if (chunk.isEmpty()) {
+            return;
+        }
 
-        int totalNegatives = (int) results.stream()
-                .filter(r -> !"ERROR".equals(r.sentiment().prevision())
-                        && "negativo".equalsIgnoreCase(r.sentiment().prevision()))
-                .count();
+        Consumer<TextSentimentResultDTO> emit = result -> {
+            statistics.add(result);
+            resultConsumer.accept(result);
+        };
+        List<String> valid = chunk.stream().filter(isValid).toList();
+
+        // Los textos inválidos se entregan como ERROR en su posición, sin pasar por el modelo
+        int[] position = {0};
+        int saved = csvProcessingService.processBatchSentimentsWithText(valid, sentimentService, result -> {
+            while (!isValid.test(chunk.get(position[0]))) {
+                emit.accept(invalid(chunk.get(position[0]++)));
+            }
+            position[0]++;
+            emit.accept(result);
+        });
+        while (position[0] < chunk.size()) {
+            emit.accept(invalid(chunk.get(position[0]++)));
+        }
 
-        return new BatchSentimentStatistics(results.size(), successful, failed, totalPositives, totalNeutrals, totalNegatives);
+        statistics.addModelCallsSaved(saved);
+        chunk.clear();
     }
 
-    private record BatchSentimentStatistics(
-            int totalProcessed,
-            int successful,
-            int failed,
-            int totalPositives,
-            int totalNeutrals,
-            int totalNegatives
-    ) {
-        @Override
-        public String toString() {
-            return String.format(
-                    "BatchSentimentStatistics{total=%d, successful=%d, failed=%d, positives=%d, neutrals=%d, negatives=%d}",
-                    totalProcessed, successful, failed, totalPositives, totalNeutrals, totalNegatives
-            );
-        }
+    private static TextSentimentResultDTO invalid(String text) {
+        return new TextSentimentResultDTO(text, new SentimentResponseDTO("ERROR", 0.0));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,64 @@
+package com.one8.sentiment_tech_api.service.impl;
+
+import com.one8.sentiment_tech_api.dtos.response.BatchSentimentResponseDTO;
+import com.one8.sentiment_tech_api.dtos.response.TextSentimentResultDTO;
+
+import java.util.List;
+
+/**
+ * Acumula las estadísticas de un batch a medida que llegan los resultados,
+ * sin necesidad de conservar la lista completa.
+ */
+class BatchStatisticsAccumulator {
+
+    private int totalProcessed;
+    private int failed;
+    private int totalPositives;
+    private int totalNeutrals;
+    private int totalNegatives;
+    private int modelCallsSaved;
+
+    void add(TextSentimentResultDTO result) {
+        totalProcessed++;
+        String prevision = result.sentiment().prevision();
+
+        if ("ERROR".equals(prevision)) {
+            failed++;
+        } else if ("positivo".equalsIgnoreCase(prevision)) {
+            totalPositives++;
+        } else if ("neutral".equalsIgnoreCase(prevision)) {
+            totalNeutrals++;
+        } else if ("negativo".equalsIgnoreCase(prevision)) {
+            totalNegatives++;
+        }
+    }
+
+    void addModelCallsSaved(int calls) {
+        modelCallsSaved += calls;
+    }
+
+    int totalProcessed() {
+        return totalProcessed;
+    }
+
+    BatchSentimentResponseDTO toResponse(List<TextSentimentResultDTO> results) {
+        return new BatchSentimentResponseDTO(
+                totalProcessed,
+                totalProcessed - failed,
+                failed,
+                totalPositives,
+                totalNeutrals,
+                totalNegatives,
+                modelCallsSaved,
+                results
+        );
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "BatchSentimentStatistics{total=%d, successful=%d, failed=%d, positives=%d, neutrals=%d, negatives=%d, modelCallsSaved=%d}",
+                totalProcessed, totalProcessed - failed, failed, totalPositives, totalNeutrals, totalNegatives, modelCallsSaved
+        );
+    }
+}
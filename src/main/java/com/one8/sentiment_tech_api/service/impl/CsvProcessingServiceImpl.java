@@ -1,30 +1,52 @@
 package com.one8.sentiment_tech_api.service.impl;
 
+import com.one8.sentiment_tech_api.client.resilience.TrafficClass;
+import com.one8.sentiment_tech_api.client.resilience.TrafficContext;
 import com.one8.sentiment_tech_api.config.BatchProcessingProperties;
+import com.one8.sentiment_tech_api.csv.CsvColumnReader;
+import com.one8.sentiment_tech_api.csv.CsvFormatException;
 import com.one8.sentiment_tech_api.dtos.request.SentimentRequestDTO;
 import com.one8.sentiment_tech_api.dtos.response.SentimentResponseDTO;
 import com.one8.sentiment_tech_api.dtos.response.TextSentimentResultDTO;
 import com.one8.sentiment_tech_api.exceptions.CsvProcessingException;
 import com.one8.sentiment_tech_api.exceptions.FileSizeExceededException;
+import com.one8.sentiment_tech_api.metrics.SentimentMetrics;
+import com.one8.sentiment_tech_api.nlp.TextNormalizer;
 import com.one8.sentiment_tech_api.service.CsvProcessingService;
 import com.one8.sentiment_tech_api.service.SentimentService;
+import com.one8.sentiment_tech_api.service.SentimentStatsService;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class CsvProcessingServiceImpl implements CsvProcessingService {
 
+    private static final Set<String> TEXT_HEADERS = Set.of("texto", "text", "mensaje", "message", "comentario", "comment", "feedback");
+
     private final BatchProcessingProperties properties;
+    private final BatchExecutor batchExecutor;
+    private final SentimentMetrics metrics;
+    private final SentimentStatsService sentimentStatsService;
+    private final TenantBatchQuota tenantBatchQuota;
 
     @Override
     public void validateCsvFile(MultipartFile file) {
@@ -52,34 +74,13 @@ public class CsvProcessingServiceImpl implements CsvProcessingService {
 
     @Override
     public List<String> extractTextsFromCsv(MultipartFile file) throws Exception {
-        List<String> texts = new ArrayList<>();
-
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.getInputStream()))) {
-            String line;
-            int lineNumber = 0;
-            
-            while ((line = reader.readLine()) != null) {
-                lineNumber++;
-                line = line.trim();
-                
-                if (line.isEmpty()) {
-                    continue;
-                }
-                
-                if (lineNumber == 1 && isHeaderLine(line)) {
-                    log.info("Omitiendo línea de encabezado: {}", line);
-                    continue;
-                }
-                
-                String text = cleanText(line);
-                if (text.length() >= properties.getMinTextLength()) {
-                    texts.add(text);
-                } else {
-                    log.warn("Texto omitido por tener menos de {} caracteres (línea {}): {}", properties.getMinTextLength(), lineNumber, text);
-                }
-            }
-        } catch (IOException e) {
-            throw new CsvProcessingException("Error leyendo el archivo CSV: " + e.getMessage());
+        List<String> texts;
+
+        Timer.Sample sample = Timer.start();
+        try (Stream<String> stream = streamTextsFromCsv(file)) {
+            texts = stream.toList();
+        } finally {
+            sample.stop(metrics.csvParseTimer());
         }
 
         if (texts.isEmpty()) {
@@ -90,37 +91,252 @@ public class CsvProcessingServiceImpl implements CsvProcessingService {
         return texts;
     }
 
+    @Override
+    public Stream<String> streamTextsFromCsv(MultipartFile file) {
+        CsvColumnReader reader;
+        TextColumn column;
+        try {
+            reader = new CsvColumnReader(file.getInputStream());
+        } catch (IOException e) {
+            throw new CsvProcessingException("Error leyendo el archivo CSV: " + e.getMessage());
+        }
+        try {
+            column = resolveTextColumn(reader);
+        } catch (IOException e) {
+            closeQuietly(reader);
+            throw new CsvProcessingException("Error leyendo el archivo CSV: " + e.getMessage());
+        } catch (CsvFormatException e) {
+            closeQuietly(reader);
+            throw new CsvProcessingException("CSV inválido: " + e.getMessage());
+        } catch (RuntimeException e) {
+            closeQuietly(reader);
+            throw e;
+        }
+
+        Spliterator<String> texts = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            private String pending = column.firstText();
+
+            @Override
+            public boolean tryAdvance(Consumer<? super String> action) {
+                String text;
+                if (pending != null) {
+                    text = toValidText(pending, 1);
+                    pending = null;
+                    if (text != null) {
+                        action.accept(text);
+                        return true;
+                    }
+                }
+                try {
+                    String value;
+                    while ((value = reader.readColumn(column.index(), column.joinTrailing())) != null) {
+                        text = toValidText(value, reader.recordNumber());
+                        if (text != null) {
+                            action.accept(text);
+                            return true;
+                        }
+                    }
+                    return false;
+                } catch (IOException e) {
+                    // Como CsvProcessingException, para no confundirlo con un fallo al escribir la respuesta
+                    throw new CsvProcessingException("Error leyendo el archivo CSV: " + e.getMessage());
+                } catch (CsvFormatException e) {
+                    throw new CsvProcessingException("CSV inválido: " + e.getMessage());
+                }
+            }
+        };
+        return StreamSupport.stream(texts, false).onClose(() -> closeQuietly(reader));
+    }
+
+    /**
+     * Lee el primer registro y decide de qué columna salen los textos. Si es un encabezado se usa la
+     * columna configurada (app.batch.text-column) o la primera con un nombre conocido; si no, el
+     * registro ya es un dato y se toma la primera columna. Con una sola columna los campos sobrantes
+     * se vuelven a unir, así los textos con comas sin comillas se leen como antes.
+     */
+    private TextColumn resolveTextColumn(CsvColumnReader reader) throws IOException {
+        List<String> first = reader.readRecord();
+        if (first == null) {
+            return new TextColumn(0, true, null);
+        }
+
+        List<String> names = first.stream().map(name -> name.trim().toLowerCase(Locale.ROOT)).toList();
+        String configured = properties.getTextColumn() == null ? "" : properties.getTextColumn().trim().toLowerCase(Locale.ROOT);
+        // Con la columna sin configurar ("") un primer registro con un campo vacío no es encabezado
+        boolean isHeader = (!configured.isEmpty() && names.contains(configured))
+                || names.stream().anyMatch(TEXT_HEADERS::contains);
+
+        if (!isHeader) {
+            if (!configured.isEmpty()) {
+                throw new CsvProcessingException("El archivo CSV no tiene la columna '" + properties.getTextColumn() + "'");
+            }
+            return new TextColumn(0, true, String.join(",", first));
+        }
+
+        log.debug("Omitiendo línea de encabezado");
+        int index;
+        if (!configured.isEmpty()) {
+            index = names.indexOf(configured);
+            if (index < 0) {
+                throw new CsvProcessingException("El archivo CSV no tiene la columna '" + properties.getTextColumn() + "'");
+            }
+        } else {
+            index = IntStream.range(0, names.size())
+                    .filter(i -> TEXT_HEADERS.contains(names.get(i)))
+                    .findFirst()
+                    .orElseThrow(() -> new CsvProcessingException("El encabezado del CSV no tiene una columna de texto"));
+        }
+        return new TextColumn(index, names.size() == 1, null);
+    }
+
+    /**
+     * Devuelve el texto limpio del campo o null si debe omitirse (vacío o muy corto).
+     */
+    private String toValidText(String value, long recordNumber) {
+        String text = value.strip();
+        if (text.isEmpty()) {
+            return null;
+        }
+        if (text.length() < properties.getMinTextLength()) {
+            log.debug("Texto omitido por tener menos de {} caracteres (registro {})", properties.getMinTextLength(), recordNumber);
+            return null;
+        }
+        return text;
+    }
+
+    private void closeQuietly(CsvColumnReader reader) {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            log.warn("No se pudo cerrar el archivo CSV: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Columna de la que salen los textos y, si el primer registro no era encabezado, su texto.
+     */
+    private record TextColumn(int index, boolean joinTrailing, String firstText) {
+    }
+
     @Override
     public List<TextSentimentResultDTO> processBatchSentimentsWithText(List<String> texts, SentimentService sentimentService) {
+        List<TextSentimentResultDTO> results = new ArrayList<>(texts.size());
+        processBatchSentimentsWithText(texts, sentimentService, results::add);
+        return results;
+    }
+
+    @Override
+    public int processBatchSentimentsWithText(List<String> texts, SentimentService sentimentService,
+                                              Consumer<TextSentimentResultDTO> resultConsumer) {
+        return processBatchWithText(texts, sentimentService, true, resultConsumer);
+    }
+
+    @Override
+    public int processBatchSentimentsWithoutLogs(List<String> texts, SentimentService sentimentService,
+                                                 Consumer<TextSentimentResultDTO> resultConsumer) {
+        return processBatchWithText(texts, sentimentService, false, resultConsumer);
+    }
+
+    private int processBatchWithText(List<String> texts, SentimentService sentimentService, boolean saveLogs,
+                                     Consumer<TextSentimentResultDTO> resultConsumer) {
         return processBatchWithMapper(
-                texts, sentimentService, TextSentimentResultDTO::new,
-                text -> new TextSentimentResultDTO(text, new SentimentResponseDTO("ERROR", 0.0))
+                texts, sentimentService, saveLogs, TextSentimentResultDTO::new,
+                text -> new TextSentimentResultDTO(text, new SentimentResponseDTO("ERROR", 0.0)),
+                resultConsumer
         );
     }
 
-    private <T> List<T> processBatchWithMapper(List<String> texts, SentimentService sentimentService,
-                                             ResultMapper<T> successMapper, ErrorMapper<T> errorMapper) {
-        List<T> results = new ArrayList<>();
-        
-        for (int i = 0; i < texts.size(); i++) {
-            String text = texts.get(i);
+    /**
+     * Puntúa una sola vez cada texto distinto del bloque y reparte el resultado a todas las filas que
+     * lo repiten, en el orden original. Los textos se comparan ya normalizados ({@link TextNormalizer}),
+     * igual que la caché de predicciones: el modelo puntúa esa forma, así que da el mismo resultado.
+     * Cada fila conserva su texto original y las repetidas registran su propio log, igual que un
+     * acierto de caché; con {@code saveLogs} en falso no se guarda ninguno. Devuelve cuántas llamadas
+     * al modelo se ahorraron.
+     */
+    private <T> int processBatchWithMapper(List<String> texts, SentimentService sentimentService, boolean saveLogs,
+                                           ResultMapper<T> successMapper, ErrorMapper<T> errorMapper,
+                                           Consumer<T> resultConsumer) {
+        int size = texts.size();
+        Map<String, Integer> uniqueIndexByText = new HashMap<>(size * 2);
+        List<String> uniqueTexts = new ArrayList<>();
+        int[] uniqueIndexByRow = new int[size];
+        boolean[] repeated = new boolean[size];
+        for (int row = 0; row < size; row++) {
+            String text = texts.get(row);
+            int before = uniqueTexts.size();
+            uniqueIndexByRow[row] = uniqueIndexByText.computeIfAbsent(TextNormalizer.normalize(text), normalized -> {
+                uniqueTexts.add(text);
+                return uniqueTexts.size() - 1;
+            });
+            repeated[row] = uniqueTexts.size() == before;
+        }
+
+        int duplicates = size - uniqueTexts.size();
+        if (duplicates > 0) {
+            log.debug("{} de {} filas del bloque repiten un texto ya normalizado", duplicates, size);
+            metrics.recordBatchDuplicates(duplicates);
+        }
+
+        SentimentResponseDTO[] responses = new SentimentResponseDTO[uniqueTexts.size()];
+        Object[] results = new Object[uniqueTexts.size()];
+        int[] scoredCount = {0};
+        int[] nextRow = {0};
+
+        // Los hilos del executor no heredan el contexto: el tenant se toma del hilo que invoca
+        String tenant = TrafficContext.currentTenant();
+        List<Integer> uniqueIndexes = IntStream.range(0, uniqueTexts.size()).boxed().toList();
+        batchExecutor.execute(uniqueIndexes, index -> {
+            String text = uniqueTexts.get(index);
+            tenantBatchQuota.acquire(tenant);
+            metrics.batchRowsInFlight().incrementAndGet();
             try {
+                // Las filas de un CSV usan el cupo batch del modelo, no el de las peticiones interactivas
                 SentimentRequestDTO request = new SentimentRequestDTO(text);
-                SentimentResponseDTO response = sentimentService.predict(request);
-                results.add(successMapper.map(text, response));
-                
-                log.info("Procesado texto {}/{} - Sentimiento: {}", 
-                    i + 1, texts.size(), response.prevision());
-                
-            } catch (Exception e) {
-                log.error("Error procesando texto {}/{}: {}", 
-                    i + 1, texts.size(), e.getMessage());
-                
-                results.add(errorMapper.map(text));
+                SentimentResponseDTO response = TrafficContext.callAs(TrafficClass.BATCH, tenant,
+                        () -> saveLogs ? sentimentService.predict(request) : sentimentService.score(request));
+                log.debug("Texto procesado - Sentimiento: {}", response.prevision());
+                metrics.recordBatchRow(true);
+                responses[index] = response;
+                return successMapper.map(text, response);
+            } finally {
+                metrics.batchRowsInFlight().decrementAndGet();
+            }
+        }, index -> {
+            metrics.recordBatchRow(false);
+            return errorMapper.map(uniqueTexts.get(index));
+        }, result -> {
+            // Los textos únicos llegan en orden de primera aparición: toda fila cuyo texto ya se
+            // puntuó puede entregarse
+            int scored = scoredCount[0]++;
+            results[scored] = result;
+            while (nextRow[0] < size && uniqueIndexByRow[nextRow[0]] <= scored) {
+                int row = nextRow[0]++;
+                int index = uniqueIndexByRow[row];
+                if (!repeated[row]) {
+                    @SuppressWarnings("unchecked")
+                    T rowResult = (T) results[index];
+                    resultConsumer.accept(rowResult);
+                    continue;
+                }
+                // La fila repetida puede diferir del texto puntuado en mayúsculas, signos o stopwords
+                String text = texts.get(row);
+                SentimentResponseDTO response = responses[index];
+                registerRepeatedRow(text, response, saveLogs);
+                resultConsumer.accept(response != null ? successMapper.map(text, response) : errorMapper.map(text));
             }
+        });
+        return duplicates;
+    }
+
+    /**
+     * Una fila repetida cuenta como fila procesada y deja su log (si se guardan), aunque no haya ido al modelo.
+     */
+    private void registerRepeatedRow(String text, SentimentResponseDTO response, boolean saveLog) {
+        metrics.recordBatchRow(response != null);
+        if (saveLog && response != null) {
+            sentimentStatsService.saveLog(text, response);
         }
-        
-        return results;
     }
 
     @FunctionalInterface
@@ -132,26 +348,4 @@ public class CsvProcessingServiceImpl implements CsvProcessingService {
     private interface ErrorMapper<T> {
         T map(String text);
     }
-
-    private boolean isHeaderLine(String line) {
-        String[] headers = {"texto", "text", "mensaje", "message", "comentario", "comment", "feedback"};
-        String lowerLine = line.toLowerCase();
-        
-        for (String header : headers) {
-            if (lowerLine.contains(header)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    private String cleanText(String text) {
-        if (text.startsWith("\"") && text.endsWith("\"")) {
-            text = text.substring(1, text.length() - 1);
-        }
-        
-        text = text.replace("\"\"", "\"");
-        
-        return text.trim();
-    }
-}
\ No newline at end of file
+}
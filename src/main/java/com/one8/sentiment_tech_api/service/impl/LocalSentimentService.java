@@ -0,0 +1,51 @@
+package com.one8.sentiment_tech_api.service.impl;
+
+import com.one8.sentiment_tech_api.config.LocalModelProperties;
+import com.one8.sentiment_tech_api.dtos.request.SentimentRequestDTO;
+import com.one8.sentiment_tech_api.dtos.response.SentimentResponseDTO;
+import com.one8.sentiment_tech_api.nlp.LinearSentimentModel;
+import com.one8.sentiment_tech_api.service.SentimentService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Puntúa los textos dentro de la JVM con el modelo exportado, sin pasar por el microservicio de Python.
+ * Se activa con {@code model.engine=local}; si el modelo no se puede cargar la aplicación no arranca.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "model.engine", havingValue = "local")
+public class LocalSentimentService implements SentimentService {
+
+    private final LinearSentimentModel model;
+    private final SentimentStatsServiceImpl sentimentStatsService;
+
+    public LocalSentimentService(LocalModelProperties properties, ResourceLoader resourceLoader,
+                                 JsonMapper jsonMapper, SentimentStatsServiceImpl sentimentStatsService) throws IOException {
+        Resource resource = resourceLoader.getResource(properties.getPath());
+        try (InputStream in = resource.getInputStream()) {
+            this.model = LinearSentimentModel.load(in, jsonMapper);
+        }
+        this.sentimentStatsService = sentimentStatsService;
+        log.info("Motor local de sentimiento cargado: modelo {} ({} términos)", model.getVersion(), model.getVocabularySize());
+    }
+
+    @Override
+    public SentimentResponseDTO predict(SentimentRequestDTO request) {
+        SentimentResponseDTO response = score(request);
+        sentimentStatsService.saveLog(request.text(), response);
+        return response;
+    }
+
+    @Override
+    public SentimentResponseDTO score(SentimentRequestDTO request) {
+        return model.predict(request.text());
+    }
+}
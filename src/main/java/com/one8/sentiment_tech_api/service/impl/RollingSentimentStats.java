@@ -0,0 +1,97 @@
+package com.one8.sentiment_tech_api.service.impl;
+
+import com.one8.sentiment_tech_api.config.StatsProperties;
+import com.one8.sentiment_tech_api.repository.SentimentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Agregado en memoria de las últimas predicciones, alimentado directamente desde saveLog.
+ * Guarda las etiquetas en un buffer circular de enteros (sin bloqueos ni objetos por entrada),
+ * de modo que /sentiment/stats no consulta la base de datos y su costo depende solo de "last",
+ * no del tamaño de sentiment_logs.
+ */
+@Slf4j
+@Component
+public class RollingSentimentStats {
+
+    static final int POSITIVO = 1;
+    static final int NEGATIVO = 2;
+    static final int NEUTRAL = 3;
+    static final int OTRO = 4;
+
+    private final SentimentRepository repository;
+    private final int capacity;
+    private final AtomicIntegerArray labels;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public RollingSentimentStats(SentimentRepository repository, StatsProperties properties) {
+        this.repository = repository;
+        this.capacity = Math.max(1, properties.getWindowSize());
+        this.labels = new AtomicIntegerArray(capacity);
+    }
+
+    /**
+     * Carga la ventana con las últimas predicciones guardadas para no arrancar en cero.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            List<String> recent = repository.findRecentPredictions(PageRequest.of(0, capacity));
+            for (int i = recent.size() - 1; i >= 0; i--) {
+                record(recent.get(i));
+            }
+            log.info("Ventana de estadísticas inicializada con {} predicciones", recent.size());
+        } catch (Exception e) {
+            log.warn("No se pudo inicializar la ventana de estadísticas: {}", e.getMessage());
+        }
+    }
+
+    public void record(String prediction) {
+        int label = toLabel(prediction);
+        long seq = sequence.getAndIncrement();
+        labels.set((int) (seq % capacity), label);
+    }
+
+    /**
+     * Conteos de las últimas {@code last} predicciones: [total, positivos, negativos, neutros].
+     */
+    public long[] countLast(int last) {
+        long end = sequence.get();
+        int window = (int) Math.min(Math.min(last, capacity), end);
+
+        long[] counts = new long[4];
+        for (long seq = end - window; seq < end; seq++) {
+            int label = labels.get((int) (seq % capacity));
+            if (label == 0) {
+                // Escritura concurrente aún no publicada en este slot
+                continue;
+            }
+            counts[0]++;
+            if (label < OTRO) {
+                counts[label]++;
+            }
+        }
+        return counts;
+    }
+
+    private static int toLabel(String prediction) {
+        if (prediction == null) {
+            return OTRO;
+        }
+        return switch (prediction.trim().toLowerCase(Locale.ROOT)) {
+            case "positivo" -> POSITIVO;
+            case "negativo" -> NEGATIVO;
+            case "neutral" -> NEUTRAL;
+            default -> OTRO;
+        };
+    }
+}
@@ -0,0 +1,296 @@
+package com.one8.sentiment_tech_api.service.impl;
+
+import com.one8.sentiment_tech_api.config.LogRetentionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Mantiene las particiones diarias de sentiment_logs (ver V3__partition_sentiment_logs.sql):
+ * crea las de los próximos días y, según la retención, elimina o separa las vencidas,
+ * opcionalmente exportándolas antes a CSV comprimido. Corre al arrancar y una vez al día.
+ * <p>
+ * Las filas que cayeron en la partición por defecto (un día sin partición) se mueven a la
+ * partición de su día, que se crea en ese momento; así también vencen y se archivan. Con varias
+ * instancias, un advisory lock de PostgreSQL asegura que solo una hace el mantenimiento a la vez.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.log-retention", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SentimentLogPartitionManager {
+
+    private static final String LIST_PARTITIONS_SQL = """
+            SELECT c.relname, pg_get_expr(c.relpartbound, c.oid)
+            FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'sentiment_logs'::regclass""";
+    private static final String LOCK_KEY = "hashtext('sentiment_logs_partition_maintenance')";
+    private static final String COLUMNS = "id, text, prediction, probability, created_at";
+    private static final Pattern RANGE_BOUND = Pattern.compile("FROM \\((.+?)\\) TO \\((.+?)\\)");
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final int ARCHIVE_FETCH_SIZE = 5_000;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LogRetentionProperties properties;
+    private final AtomicLong defaultPartitionRows = new AtomicLong();
+    private final Counter failures;
+
+    public SentimentLogPartitionManager(DataSource dataSource, JdbcTemplate jdbcTemplate,
+                                        TransactionTemplate transactionTemplate, LogRetentionProperties properties,
+                                        MeterRegistry meterRegistry) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        Gauge.builder("sentiment.logs.partition.default.rows", defaultPartitionRows, AtomicLong::get)
+                .description("Filas que quedaron en la partición por defecto tras el último mantenimiento")
+                .register(meterRegistry);
+        this.failures = Counter.builder("sentiment.logs.partition.failures")
+                .description("Pasos del mantenimiento de particiones que fallaron")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    /**
+     * El advisory lock es de sesión: se toma y se libera en una conexión propia que queda abierta
+     * durante el mantenimiento, mientras el trabajo usa las conexiones del pool.
+     */
+    @Scheduled(cron = "${app.log-retention.cron:0 5 0 * * *}")
+    public void maintain() {
+        try (Connection lockConnection = dataSource.getConnection()) {
+            if (!advisoryLock(lockConnection, "pg_try_advisory_lock")) {
+                log.info("Otra instancia está manteniendo las particiones de sentiment_logs");
+                return;
+            }
+            try {
+                maintainPartitions(LocalDate.now());
+            } finally {
+                advisoryLock(lockConnection, "pg_advisory_unlock");
+            }
+        } catch (SQLException | DataAccessException e) {
+            failures.increment();
+            log.error("Error en el mantenimiento de particiones de sentiment_logs: {}", e.getMessage());
+        }
+    }
+
+    private void maintainPartitions(LocalDate today) {
+        List<Partition> partitions = listPartitions();
+        Partition defaultPartition = partitions.stream().filter(Partition::isDefault).findFirst().orElse(null);
+
+        Set<LocalDate> days = new TreeSet<>();
+        for (int i = 0; i <= properties.getPremakeDays(); i++) {
+            days.add(today.plusDays(i));
+        }
+        if (defaultPartition != null) {
+            days.addAll(daysIn(defaultPartition));
+        }
+        for (LocalDate day : days) {
+            LocalDateTime start = day.atStartOfDay();
+            if (partitions.stream().noneMatch(partition -> partition.covers(start))) {
+                createPartition(start, defaultPartition);
+            }
+        }
+
+        expire(today.atStartOfDay().minus(properties.getRetention()), listPartitions());
+
+        if (defaultPartition != null) {
+            Long remaining = jdbcTemplate.queryForObject("SELECT count(*) FROM " + quote(defaultPartition.name()), Long.class);
+            defaultPartitionRows.set(remaining == null ? 0 : remaining);
+            if (defaultPartitionRows.get() > 0) {
+                log.warn("Quedan {} filas en {} que no se pudieron mover a su partición", remaining, defaultPartition.name());
+            }
+        }
+    }
+
+    private List<LocalDate> daysIn(Partition defaultPartition) {
+        return jdbcTemplate.query("SELECT DISTINCT date_trunc('day', created_at) FROM " + quote(defaultPartition.name()),
+                (rs, rowNum) -> rs.getTimestamp(1).toLocalDateTime().toLocalDate());
+    }
+
+    /**
+     * Crea la partición del día. Si la partición por defecto tiene filas de ese día, PostgreSQL no
+     * permite crearla directamente: en una transacción se separa la partición por defecto, se crea
+     * la del día, se le mueven esas filas y se vuelve a adjuntar. Las inserciones concurrentes
+     * esperan al commit.
+     */
+    private void createPartition(LocalDateTime start, Partition defaultPartition) {
+        String name = "sentiment_logs_p" + PARTITION_SUFFIX.format(start);
+        Timestamp from = Timestamp.valueOf(start);
+        Timestamp to = Timestamp.valueOf(start.plusDays(1));
+        String create = "CREATE TABLE " + quote(name) + " PARTITION OF sentiment_logs FOR VALUES FROM ('"
+                + start + "') TO ('" + start.plusDays(1) + "')";
+        try {
+            int moved = transactionTemplate.execute(status -> {
+                if (defaultPartition == null || !Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                        "SELECT EXISTS (SELECT 1 FROM " + quote(defaultPartition.name()) + " WHERE created_at >= ? AND created_at < ?)",
+                        Boolean.class, from, to))) {
+                    jdbcTemplate.execute(create);
+                    return 0;
+                }
+                jdbcTemplate.execute("ALTER TABLE sentiment_logs DETACH PARTITION " + quote(defaultPartition.name()));
+                jdbcTemplate.execute(create);
+                int rows = jdbcTemplate.update("WITH moved AS (DELETE FROM " + quote(defaultPartition.name())
+                        + " WHERE created_at >= ? AND created_at < ? RETURNING " + COLUMNS + ") INSERT INTO " + quote(name)
+                        + " (" + COLUMNS + ") SELECT " + COLUMNS + " FROM moved", from, to);
+                jdbcTemplate.execute("ALTER TABLE sentiment_logs ATTACH PARTITION " + quote(defaultPartition.name()) + " DEFAULT");
+                return rows;
+            });
+            if (moved > 0) {
+                log.warn("Partición {} creada con {} filas movidas desde {}", name, moved, defaultPartition.name());
+            } else {
+                log.info("Partición {} creada", name);
+            }
+        } catch (DataAccessException e) {
+            failures.increment();
+            log.error("No se pudo crear la partición {}: {}", name, e.getMessage());
+        }
+    }
+
+    private void expire(LocalDateTime cutoff, List<Partition> partitions) {
+        for (Partition partition : partitions) {
+            if (partition.to() == null || partition.to().isAfter(cutoff)) {
+                continue;
+            }
+            try {
+                if (properties.getArchive().isEnabled()) {
+                    archive(partition.name());
+                }
+                String action = switch (properties.getExpiredAction()) {
+                    case DROP -> "DROP TABLE " + quote(partition.name());
+                    case DETACH -> "ALTER TABLE sentiment_logs DETACH PARTITION " + quote(partition.name());
+                };
+                jdbcTemplate.execute(action);
+                log.info("Partición {} vencida ({}): {}", partition.name(), partition.to(), properties.getExpiredAction());
+            } catch (DataAccessException | UncheckedIOException e) {
+                // Sin archivo no se elimina: se reintenta en la próxima ejecución
+                failures.increment();
+                log.error("No se pudo expirar la partición {}: {}", partition.name(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Exporta la partición a CSV.gz leyendo con cursor, sin cargarla en memoria. Se escribe primero
+     * a un archivo temporal para no dejar un archivo incompleto con el nombre final.
+     */
+    private void archive(String partition) {
+        Path directory = Path.of(properties.getArchive().getDirectory());
+        Path target = directory.resolve(partition + ".csv.gz");
+        Path temp = directory.resolve(partition + ".csv.gz.part");
+        AtomicLong rows = new AtomicLong();
+
+        try {
+            Files.createDirectories(directory);
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(temp)), StandardCharsets.UTF_8))) {
+                writer.write("id,created_at,prediction,probability,text\n");
+                // PostgreSQL solo respeta el fetch size dentro de una transacción
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+                    PreparedStatement ps = con.prepareStatement(
+                            "SELECT id, created_at, prediction, probability, text FROM " + quote(partition) + " ORDER BY created_at, id");
+                    ps.setFetchSize(ARCHIVE_FETCH_SIZE);
+                    return ps;
+                }, rs -> {
+                    try {
+                        writer.write(rs.getLong(1) + "," + rs.getTimestamp(2).toLocalDateTime() + ","
+                                + csv(rs.getString(3)) + "," + rs.getDouble(4) + "," + csv(rs.getString(5)) + "\n");
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    rows.incrementAndGet();
+                }));
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo archivar " + partition + " en " + target, e);
+        }
+        log.info("Partición {} archivada en {} ({} filas)", partition, target, rows.get());
+    }
+
+    private static boolean advisoryLock(Connection connection, String function) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT " + function + "(" + LOCK_KEY + ")");
+             ResultSet rs = ps.executeQuery()) {
+            return rs.next() && rs.getBoolean(1);
+        }
+    }
+
+    private List<Partition> listPartitions() {
+        return jdbcTemplate.query(LIST_PARTITIONS_SQL, (rs, rowNum) -> Partition.parse(rs.getString(1), rs.getString(2)));
+    }
+
+    private static String quote(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+
+    private static String csv(String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    /**
+     * Rango [from, to) de una partición; null en from/to es MINVALUE/MAXVALUE. La partición por
+     * defecto no tiene rango y nunca vence.
+     */
+    private record Partition(String name, LocalDateTime from, LocalDateTime to, boolean isDefault) {
+
+        static Partition parse(String name, String bound) {
+            Matcher matcher = RANGE_BOUND.matcher(bound);
+            if (!matcher.find()) {
+                return new Partition(name, null, null, true);
+            }
+            return new Partition(name, parseBound(matcher.group(1)), parseBound(matcher.group(2)), false);
+        }
+
+        private static LocalDateTime parseBound(String value) {
+            if (value.equalsIgnoreCase("MINVALUE") || value.equalsIgnoreCase("MAXVALUE")) {
+                return null;
+            }
+            return LocalDateTime.parse(value.replace("'", "").replace(' ', 'T'));
+        }
+
+        boolean covers(LocalDateTime instant) {
+            return !isDefault
+                    && (from == null || !from.isAfter(instant))
+                    && (to == null || to.isAfter(instant));
+        }
+    }
+}
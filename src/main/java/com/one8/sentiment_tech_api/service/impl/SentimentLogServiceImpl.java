@@ -0,0 +1,61 @@
+package com.one8.sentiment_tech_api.service.impl;
+
+import com.one8.sentiment_tech_api.dtos.response.SentimentLogDTO;
+import com.one8.sentiment_tech_api.dtos.response.SentimentLogPageDTO;
+import com.one8.sentiment_tech_api.exceptions.InvalidRequestException;
+import com.one8.sentiment_tech_api.repository.SentimentLogCursor;
+import com.one8.sentiment_tech_api.repository.SentimentLogFilter;
+import com.one8.sentiment_tech_api.repository.SentimentRepository;
+import com.one8.sentiment_tech_api.service.SentimentLogService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class SentimentLogServiceImpl implements SentimentLogService {
+
+    private final SentimentRepository sentimentRepository;
+
+    @Override
+    public SentimentLogPageDTO findLogs(SentimentLogFilter filter, String cursor, int size, boolean includeText) {
+        if (filter.minProbability() != null && filter.maxProbability() != null
+                && filter.minProbability() > filter.maxProbability()) {
+            throw new InvalidRequestException("minProbability no puede ser mayor que maxProbability");
+        }
+        if (filter.from() != null && filter.to() != null && !filter.from().isBefore(filter.to())) {
+            throw new InvalidRequestException("from debe ser anterior a to");
+        }
+
+        List<SentimentLogDTO> results = sentimentRepository.findPage(filter, decodeCursor(cursor), size, includeText);
+
+        String nextCursor = results.size() == size ? encodeCursor(results.getLast()) : null;
+        return new SentimentLogPageDTO(results, nextCursor);
+    }
+
+    /**
+     * El cursor es opaco para el cliente: "createdAt|id" en Base64 URL-safe.
+     */
+    private static String encodeCursor(SentimentLogDTO last) {
+        String raw = last.createdAt() + "|" + last.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static SentimentLogCursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new SentimentLogCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new InvalidRequestException("Cursor inválido");
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.one8.sentiment_tech_api.service.impl;
+
+import com.one8.sentiment_tech_api.config.LogWriterProperties;
+import com.one8.sentiment_tech_api.entity.SentimentLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Escritura diferida (write-behind) de {@link SentimentLog}: las predicciones se encolan en un
+ * buffer acotado y un hilo en segundo plano las inserta con batch de JDBC, por tamaño o por tiempo.
+ * Al apagar la aplicación se vacía la cola antes de cerrar la conexión.
+ */
+@Slf4j
+@Component
+public class SentimentLogWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO sentiment_logs (text, prediction, probability, created_at) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SentimentRollupUpdater rollupUpdater;
+    private final LogWriterProperties properties;
+    private final BlockingQueue<SentimentLog> queue;
+
+    private final Timer flushTimer;
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+    private final Counter failedCounter;
+
+    private Thread writer;
+    private volatile boolean running;
+
+    public SentimentLogWriter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                              SentimentRollupUpdater rollupUpdater, LogWriterProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.rollupUpdater = rollupUpdater;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+
+        Gauge.builder("sentiment.logs.queue.size", queue, BlockingQueue::size)
+                .description("Registros pendientes de escritura")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("sentiment.logs.flush")
+                .description("Latencia de cada inserción batch en sentiment_logs")
+                .register(meterRegistry);
+        this.writtenCounter = Counter.builder("sentiment.logs.written").register(meterRegistry);
+        this.droppedCounter = Counter.builder("sentiment.logs.dropped").register(meterRegistry);
+        this.failedCounter = Counter.builder("sentiment.logs.failed").register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        writer = Thread.ofPlatform()
+                .name("sentiment-log-writer")
+                .daemon(true)
+                .start(this::writeLoop);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writer.join(properties.getShutdownTimeout().toMillis());
+        if (!queue.isEmpty()) {
+            log.warn("Se descartan {} registros no escritos al apagar", queue.size());
+            droppedCounter.increment(queue.size());
+        }
+    }
+
+    public void enqueue(SentimentLog sentimentLog) {
+        if (!running) {
+            write(sentimentLog);
+            return;
+        }
+
+        boolean accepted = switch (properties.getOverflowPolicy()) {
+            case DROP -> queue.offer(sentimentLog);
+            case BLOCK -> offerWithTimeout(sentimentLog);
+            case CALLER_RUNS -> {
+                if (!queue.offer(sentimentLog)) {
+                    write(sentimentLog);
+                }
+                yield true;
+            }
+        };
+
+        if (!accepted) {
+            droppedCounter.increment();
+            log.warn("Cola de escritura llena ({}), se descarta el registro", properties.getQueueCapacity());
+        }
+    }
+
+    /**
+     * Guarda el registro de forma síncrona, sin pasar por la cola.
+     */
+    public void write(SentimentLog sentimentLog) {
+        insert(List.of(sentimentLog));
+        writtenCounter.increment();
+    }
+
+    private boolean offerWithTimeout(SentimentLog sentimentLog) {
+        try {
+            return queue.offer(sentimentLog, properties.getOfferTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void writeLoop() {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        long flushIntervalNanos = properties.getFlushInterval().toNanos();
+        List<SentimentLog> batch = new ArrayList<>(batchSize);
+
+        while (running) {
+            try {
+                SentimentLog first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+
+                while (batch.size() < batchSize && running) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    SentimentLog next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        // Drenado final al apagar
+        flush(batch);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            flush(batch);
+        }
+    }
+
+    /**
+     * Inserta los registros y actualiza los rollups en la misma transacción.
+     */
+    private void insert(List<SentimentLog> logs) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_SQL, logs, logs.size(), (ps, sentimentLog) -> {
+                ps.setString(1, sentimentLog.getText());
+                ps.setString(2, sentimentLog.getPrediction());
+                ps.setDouble(3, sentimentLog.getProbability());
+                ps.setTimestamp(4, Timestamp.valueOf(sentimentLog.getCreatedAt()));
+            });
+            rollupUpdater.apply(logs);
+        });
+    }
+
+    private void flush(List<SentimentLog> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            flushTimer.record(() -> insert(batch));
+            writtenCounter.increment(batch.size());
+            log.debug("Se guardaron {} registros de sentimiento", batch.size());
+        } catch (Exception e) {
+            failedCounter.increment(batch.size());
+            log.error("Error guardando {} registros de sentimiento: {}", batch.size(), e.getMessage());
+        } finally {
+            batch.clear();
+        }
+    }
+}
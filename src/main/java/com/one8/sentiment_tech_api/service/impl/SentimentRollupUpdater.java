@@ -0,0 +1,65 @@
+package com.one8.sentiment_tech_api.service.impl;
+
+import com.one8.sentiment_tech_api.entity.RollupBucket;
+import com.one8.sentiment_tech_api.entity.SentimentLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Suma un lote de registros a sentiment_rollups. El lote se agrega primero en memoria, así cada
+ * combinación (intervalo, etiqueta) genera un único upsert aunque el lote tenga cientos de filas.
+ */
+@Component
+@RequiredArgsConstructor
+public class SentimentRollupUpdater {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO sentiment_rollups (bucket_type, bucket_start, label, total, probability_sum)
+            VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (bucket_type, bucket_start, label) DO UPDATE
+            SET total = sentiment_rollups.total + EXCLUDED.total,
+                probability_sum = sentiment_rollups.probability_sum + EXCLUDED.probability_sum""";
+
+    private static final Comparator<BucketKey> KEY_ORDER = Comparator.comparing(BucketKey::bucket)
+            .thenComparing(BucketKey::start)
+            .thenComparing(BucketKey::label);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void apply(List<SentimentLog> logs) {
+        Map<BucketKey, double[]> aggregated = new HashMap<>();
+
+        for (SentimentLog sentimentLog : logs) {
+            String label = sentimentLog.getPrediction().trim().toLowerCase(Locale.ROOT);
+            for (RollupBucket bucket : RollupBucket.values()) {
+                BucketKey key = new BucketKey(bucket, bucket.truncate(sentimentLog.getCreatedAt()), label);
+                double[] values = aggregated.computeIfAbsent(key, k -> new double[2]);
+                values[0]++;
+                values[1] += sentimentLog.getProbability();
+            }
+        }
+
+        // Orden fijo de filas para que escritores concurrentes no se bloqueen mutuamente
+        List<Object[]> upserts = aggregated.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(KEY_ORDER))
+                .map(entry -> new Object[]{
+                        entry.getKey().bucket().name(), Timestamp.valueOf(entry.getKey().start()),
+                        entry.getKey().label(), (long) entry.getValue()[0], entry.getValue()[1]
+                })
+                .toList();
+
+        jdbcTemplate.batchUpdate(UPSERT_SQL, upserts);
+    }
+
+    private record BucketKey(RollupBucket bucket, LocalDateTime start, String label) {
+    }
+}
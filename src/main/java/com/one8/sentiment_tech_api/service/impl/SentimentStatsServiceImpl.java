@@ -1,63 +1,77 @@
 package com.one8.sentiment_tech_api.service.impl;
 
+import com.one8.sentiment_tech_api.config.LogWriterProperties;
 import com.one8.sentiment_tech_api.dtos.response.SentimentResponseDTO;
 import com.one8.sentiment_tech_api.dtos.response.SentimentStatsResponseDTO;
+import com.one8.sentiment_tech_api.dtos.response.TimeSeriesPointDTO;
+import com.one8.sentiment_tech_api.entity.RollupBucket;
 import com.one8.sentiment_tech_api.entity.SentimentLog;
-import com.one8.sentiment_tech_api.repository.SentimentRepository;
+import com.one8.sentiment_tech_api.entity.SentimentRollup;
+import com.one8.sentiment_tech_api.exceptions.InvalidRequestException;
+import com.one8.sentiment_tech_api.metrics.SentimentMetrics;
+import com.one8.sentiment_tech_api.repository.SentimentRollupRepository;
 import com.one8.sentiment_tech_api.service.SentimentStatsService;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 @Slf4j
 @RequiredArgsConstructor
 @Service
 public class SentimentStatsServiceImpl implements SentimentStatsService {
 
-    private final SentimentRepository repository;
+    private static final long MAX_TIME_SERIES_POINTS = 10_000;
+
+    private final SentimentLogWriter logWriter;
+    private final LogWriterProperties logWriterProperties;
+    private final RollingSentimentStats rollingStats;
+    private final SentimentRollupRepository rollupRepository;
+    private final SentimentMetrics metrics;
 
     @Override
-    @Transactional
     public void saveLog(String text,SentimentResponseDTO responseDTO) {
-        log.info("Guardando resultado");
+        metrics.recordPrediction(responseDTO.prevision());
+        metrics.saveLogTimer().record(() -> persist(text, responseDTO));
+    }
 
+    private void persist(String text, SentimentResponseDTO responseDTO) {
         SentimentLog logSentiment = SentimentLog.builder().text(text)
                         .prediction(responseDTO.prevision())
                         .probability(responseDTO.probabilidad())
                         .createdAt(LocalDateTime.now()).build();
 
-         repository.save(logSentiment);
+        rollingStats.record(responseDTO.prevision());
+
+        if (logWriterProperties.isEnabled()) {
+            // La escritura real la hace SentimentLogWriter en segundo plano
+            logWriter.enqueue(logSentiment);
+            return;
+        }
 
-         log.info("Sentimiento guardado correctamente");
+        logWriter.write(logSentiment);
+        log.debug("Sentimiento guardado correctamente");
     }
 
     @Override
     public SentimentStatsResponseDTO getStats(int limit){
-        log.info("Calculando estadísticas de los últimos {} registros",limit);
+        log.debug("Calculando estadísticas de los últimos {} registros",limit);
 
-        Pageable pageable = PageRequest.of(0, limit);
-        List<SentimentLog> logs = repository.findAllByOrderByCreatedAtDesc(pageable);
+        // Se responde desde la ventana en memoria, sin consultar sentiment_logs
+        long[] conteos = rollingStats.countLast(limit);
+        long total = conteos[0];
 
-        if(logs.isEmpty()){
+        if(total == 0){
             return new SentimentStatsResponseDTO(0,0,0,0,0.0,0.0,0.0);
         }
-        long total = logs.size();
-
-        Map<String, Long> conteos = logs.stream()
-                .collect(Collectors.groupingBy(log -> log.getPrediction()
-                .trim().toLowerCase(), Collectors.counting()));
 
-        long positivos = conteos.getOrDefault("positivo", 0L);
-        long negativos = conteos.getOrDefault("negativo", 0L);
-        long neutros = conteos.getOrDefault("neutral", 0L);
+        long positivos = conteos[RollingSentimentStats.POSITIVO];
+        long negativos = conteos[RollingSentimentStats.NEGATIVO];
+        long neutros = conteos[RollingSentimentStats.NEUTRAL];
 
         double porcentajePositivos = calcularPorcentaje(positivos,total);
         double porcentajeNegativos = calcularPorcentaje(negativos,total);
@@ -68,6 +82,47 @@ public class SentimentStatsServiceImpl implements SentimentStatsService {
 
     }
 
+    @Override
+    public List<TimeSeriesPointDTO> getTimeSeries(LocalDateTime from, LocalDateTime to, RollupBucket bucket) {
+        if (!from.isBefore(to)) {
+            throw new InvalidRequestException("'from' debe ser anterior a 'to'");
+        }
+        long buckets = Duration.between(from, to).dividedBy(bucket.getDuration());
+        if (buckets > MAX_TIME_SERIES_POINTS) {
+            throw new InvalidRequestException("El rango pedido genera más de " + MAX_TIME_SERIES_POINTS
+                    + " intervalos; use un intervalo mayor o un rango menor");
+        }
+
+        List<SentimentRollup> rollups = rollupRepository
+                .findByBucketTypeAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStartAsc(
+                        bucket, bucket.truncate(from), to);
+
+        // Las filas vienen ordenadas por intervalo: se agrupan las etiquetas de cada uno
+        List<TimeSeriesPointDTO> points = new ArrayList<>();
+        int i = 0;
+        while (i < rollups.size()) {
+            LocalDateTime start = rollups.get(i).getBucketStart();
+            long total = 0, positivos = 0, negativos = 0, neutros = 0;
+            double probabilidadSum = 0.0;
+
+            for (; i < rollups.size() && rollups.get(i).getBucketStart().equals(start); i++) {
+                SentimentRollup rollup = rollups.get(i);
+                total += rollup.getTotal();
+                probabilidadSum += rollup.getProbabilitySum();
+                switch (rollup.getLabel()) {
+                    case "positivo" -> positivos += rollup.getTotal();
+                    case "negativo" -> negativos += rollup.getTotal();
+                    case "neutral" -> neutros += rollup.getTotal();
+                    default -> { }
+                }
+            }
+
+            double media = total == 0 ? 0.0 : Math.round(probabilidadSum / total * 10_000.0) / 10_000.0;
+            points.add(new TimeSeriesPointDTO(start, total, positivos, negativos, neutros, media));
+        }
+        return points;
+    }
+
     private double calcularPorcentaje(long prevision, long total) {
         if (total == 0) {
             return 0.0;
@@ -0,0 +1,83 @@
+package com.one8.sentiment_tech_api.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.one8.sentiment_tech_api.config.BatchProcessingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cuota de filas por segundo que cada tenant puede enviar al modelo desde cargas batch. Las filas
+ * que la exceden esperan su turno en vez de fallar, así el archivo grande de un tenant no se queda
+ * con todo el cupo batch del modelo.
+ */
+@Component
+public class TenantBatchQuota {
+
+    /**
+     * Los ids salen de {@link TenantResolver}, así que son pocos; el tope es solo una protección.
+     */
+    private static final int MAX_TRACKED_TENANTS = 1_000;
+
+    private final BatchProcessingProperties properties;
+    private final Cache<String, Throttle> throttles = Caffeine.newBuilder()
+            .maximumSize(MAX_TRACKED_TENANTS)
+            .expireAfterAccess(Duration.ofMinutes(10))
+            .build();
+    private final Timer waitTimer;
+
+    public TenantBatchQuota(BatchProcessingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.waitTimer = Timer.builder("sentiment.batch.quota.wait")
+                .description("Espera de una fila batch por la cuota de su tenant")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Bloquea hasta que la cuota del tenant (id resuelto por {@link TenantResolver}) permite enviar
+     * una fila más.
+     */
+    public void acquire(String tenant) {
+        BatchProcessingProperties.Tenant configured = properties.getTenants().get(tenant);
+        double rowsPerSecond = configured != null && configured.getRowsPerSecond() != null
+                ? configured.getRowsPerSecond()
+                : properties.getTenantRowsPerSecond();
+        if (rowsPerSecond <= 0) {
+            return;
+        }
+
+        long waitNanos = throttles.get(tenant, key -> new Throttle()).reserve((long) (1_000_000_000L / rowsPerSecond));
+        waitTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Espera por la cuota del tenant interrumpida");
+            }
+        }
+    }
+
+    /**
+     * Reparte turnos espaciados por el intervalo de la cuota; cada fila reserva el siguiente.
+     */
+    private static final class Throttle {
+
+        private long nextFreeNanos = System.nanoTime();
+
+        private synchronized long reserve(long intervalNanos) {
+            long now = System.nanoTime();
+            if (nextFreeNanos - now < 0) {
+                nextFreeNanos = now;
+            }
+            long wait = nextFreeNanos - now;
+            nextFreeNanos += intervalNanos;
+            return wait;
+        }
+    }
+}
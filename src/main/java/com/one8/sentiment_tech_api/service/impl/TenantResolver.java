@@ -0,0 +1,54 @@
+package com.one8.sentiment_tech_api.service.impl;
+
+import com.one8.sentiment_tech_api.client.resilience.TrafficContext;
+import com.one8.sentiment_tech_api.config.BatchProcessingProperties;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Traduce la API key de una carga batch al id de su tenant (app.batch.tenants). Las claves
+ * ausentes o desconocidas comparten {@link TrafficContext#DEFAULT_TENANT}: cambiar de clave en
+ * cada carga no da una cuota nueva. Fuera de aquí solo circula el id, nunca la clave.
+ */
+@Component
+public class TenantResolver {
+
+    private final Map<String, String> tenantsByKeyHash;
+
+    public TenantResolver(BatchProcessingProperties properties) {
+        Map<String, String> byHash = new HashMap<>();
+        properties.getTenants().forEach((id, tenant) -> {
+            if (tenant.getApiKeySha256() == null || tenant.getApiKeySha256().isBlank()) {
+                throw new IllegalStateException("El tenant '" + id + "' no tiene api-key-sha256");
+            }
+            String previous = byHash.put(tenant.getApiKeySha256().trim().toLowerCase(Locale.ROOT), id);
+            if (previous != null) {
+                throw new IllegalStateException("Los tenants '" + previous + "' y '" + id + "' tienen la misma API key");
+            }
+        });
+        this.tenantsByKeyHash = Map.copyOf(byHash);
+    }
+
+    public String resolve(String apiKey) {
+        if (apiKey == null || apiKey.isBlank()) {
+            return TrafficContext.DEFAULT_TENANT;
+        }
+        return tenantsByKeyHash.getOrDefault(sha256(apiKey.trim()), TrafficContext.DEFAULT_TENANT);
+    }
+
+    static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+-- Esquema que antes generaba Hibernate con ddl-auto=update.
+-- También corre en las bases ya existentes (baseline-on-migrate con baseline-version 0): esas solo
+-- tienen sentiment_logs, así que cada tabla se crea únicamente si no existe.
+
+CREATE TABLE IF NOT EXISTS sentiment_logs (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    text        TEXT             NOT NULL,
+    prediction  VARCHAR(255)     NOT NULL,
+    probability DOUBLE PRECISION NOT NULL,
+    created_at  TIMESTAMP(6)     NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS sentiment_rollups (
+    bucket_type     VARCHAR(255)     NOT NULL,
+    bucket_start    TIMESTAMP(6)     NOT NULL,
+    label           VARCHAR(255)     NOT NULL,
+    total           BIGINT           NOT NULL,
+    probability_sum DOUBLE PRECISION NOT NULL,
+    PRIMARY KEY (bucket_type, bucket_start, label)
+);
+
+CREATE TABLE IF NOT EXISTS batch_jobs (
+    id                UUID         PRIMARY KEY,
+    filename          VARCHAR(255),
+    tenant            VARCHAR(255),
+    status            VARCHAR(255) NOT NULL,
+    total_rows        INTEGER      NOT NULL,
+    processed_rows    INTEGER      NOT NULL,
+    failed_rows       INTEGER      NOT NULL,
+    total_positives   INTEGER      NOT NULL,
+    total_neutrals    INTEGER      NOT NULL,
+    total_negatives   INTEGER      NOT NULL,
+    model_calls_saved INTEGER      NOT NULL DEFAULT 0,
+    error_message     TEXT,
+    created_at        TIMESTAMP(6) NOT NULL,
+    started_at        TIMESTAMP(6),
+    completed_at      TIMESTAMP(6),
+    updated_at        TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS batch_job_items (
+    job_id      UUID    NOT NULL,
+    row_index   INTEGER NOT NULL,
+    text        TEXT    NOT NULL,
+    prediction  VARCHAR(255),
+    probability DOUBLE PRECISION,
+    PRIMARY KEY (job_id, row_index)
+);
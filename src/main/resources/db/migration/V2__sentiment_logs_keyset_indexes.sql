@@ -0,0 +1,7 @@
+-- Índices para GET /sentiment/logs: orden (created_at, id) descendente, con y sin filtro por etiqueta.
+-- INCLUDE permite responder sin leer la tabla cuando no se pide el texto.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_sentiment_logs_created_at_id
+    ON sentiment_logs (created_at DESC, id DESC) INCLUDE (prediction, probability);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_sentiment_logs_prediction_created_at_id
+    ON sentiment_logs (prediction, created_at DESC, id DESC) INCLUDE (probability);
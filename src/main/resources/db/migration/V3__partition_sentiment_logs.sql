@@ -0,0 +1,52 @@
+-- sentiment_logs pasa a estar particionada por día sobre created_at (ver SentimentLogPartitionManager).
+-- Los datos existentes no se copian: la tabla actual se adjunta como la partición sentiment_logs_legacy,
+-- que cubre todo hasta el fin del día de la migración y se elimina entera cuando vence la retención.
+
+ALTER TABLE sentiment_logs RENAME TO sentiment_logs_legacy;
+ALTER INDEX idx_sentiment_logs_created_at_id RENAME TO sentiment_logs_legacy_created_at_id_idx;
+ALTER INDEX idx_sentiment_logs_prediction_created_at_id RENAME TO sentiment_logs_legacy_prediction_created_at_id_idx;
+
+-- Una partición no puede tener columna identity: los ids pasan a una secuencia de la tabla padre
+ALTER TABLE sentiment_logs_legacy ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE sentiment_logs_id_seq;
+SELECT setval('sentiment_logs_id_seq', COALESCE((SELECT max(id) FROM sentiment_logs_legacy), 0) + 1, false);
+
+-- La clave primaria de una tabla particionada debe incluir la columna de partición
+CREATE TABLE sentiment_logs (
+    id          BIGINT           NOT NULL DEFAULT nextval('sentiment_logs_id_seq'),
+    text        TEXT             NOT NULL,
+    prediction  VARCHAR(255)     NOT NULL,
+    probability DOUBLE PRECISION NOT NULL,
+    created_at  TIMESTAMP(6)     NOT NULL,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE sentiment_logs_id_seq OWNED BY sentiment_logs.id;
+
+CREATE INDEX idx_sentiment_logs_created_at_id
+    ON sentiment_logs (created_at DESC, id DESC) INCLUDE (prediction, probability);
+CREATE INDEX idx_sentiment_logs_prediction_created_at_id
+    ON sentiment_logs (prediction, created_at DESC, id DESC) INCLUDE (probability);
+
+-- La partición debe tener la misma clave que la tabla padre; si no, el ATTACH intenta crear una segunda
+ALTER TABLE sentiment_logs_legacy
+    DROP CONSTRAINT sentiment_logs_pkey,
+    ADD PRIMARY KEY (id, created_at);
+
+ALTER TABLE sentiment_logs ATTACH PARTITION sentiment_logs_legacy
+    FOR VALUES FROM (MINVALUE) TO (date_trunc('day', LOCALTIMESTAMP) + INTERVAL '1 day');
+
+-- Primeros días por adelantado; después los crea el job de mantenimiento
+DO $$
+DECLARE
+    d DATE;
+BEGIN
+    FOR i IN 1..7 LOOP
+        d := CURRENT_DATE + i;
+        EXECUTE format('CREATE TABLE sentiment_logs_p%s PARTITION OF sentiment_logs FOR VALUES FROM (%L) TO (%L)',
+                       to_char(d, 'YYYYMMDD'), d::timestamp, (d + 1)::timestamp);
+    END LOOP;
+END $$;
+
+-- Red de seguridad si el job no llegó a crear la partición del día
+CREATE TABLE sentiment_logs_default PARTITION OF sentiment_logs DEFAULT;
@@ -0,0 +1,4 @@
+-- batch_jobs.tenant guardaba la API key tal como llegaba en la cabecera. Desde ahora guarda el id
+-- del tenant (ver TenantResolver); las claves existentes se borran y esos jobs usan el tenant por defecto.
+
+UPDATE batch_jobs SET tenant = NULL WHERE tenant IS NOT NULL;
@@ -0,0 +1,7 @@
+-- Con varias instancias, cada job lo procesa solo la que lo reclamó (lease_owner) mientras renueve
+-- lease_until; al vencer el lease cualquier otra instancia puede retomarlo (ver BatchJobServiceImpl).
+
+ALTER TABLE batch_jobs ADD COLUMN lease_owner VARCHAR(255);
+ALTER TABLE batch_jobs ADD COLUMN lease_until TIMESTAMP(6);
+
+CREATE INDEX idx_batch_jobs_status_created_at ON batch_jobs (status, created_at);
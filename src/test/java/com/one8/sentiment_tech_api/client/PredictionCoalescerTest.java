@@ -0,0 +1,122 @@
+package com.one8.sentiment_tech_api.client;
+
+import com.one8.sentiment_tech_api.dtos.response.SentimentResponseDTO;
+import com.one8.sentiment_tech_api.metrics.SentimentMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Single-flight de predicciones por texto normalizado.
+ */
+class PredictionCoalescerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final PredictionCoalescer coalescer = new PredictionCoalescer(new SentimentMetrics(registry));
+    private final AtomicInteger calls = new AtomicInteger();
+    /**
+     * Llamada al modelo en curso; el test decide cuándo termina.
+     */
+    private final CompletableFuture<SentimentResponseDTO> modelCall = new CompletableFuture<>();
+
+    @Test
+    void concurrentPredictionsOfTheSameTextShareOneModelCall() throws Exception {
+        List<String> texts = List.of("¡Muy bueno!", "muy bueno", "MUY  BUENO", "bueno...");
+        CountDownLatch ready = new CountDownLatch(texts.size());
+        List<Future<CompletableFuture<SentimentResponseDTO>>> submitted = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(texts.size())) {
+            for (String text : texts) {
+                submitted.add(executor.submit(() -> {
+                    ready.countDown();
+                    ready.await();
+                    return coalescer.coalesce(text, pendingCall());
+                }));
+            }
+            List<CompletableFuture<SentimentResponseDTO>> results = new ArrayList<>();
+            for (Future<CompletableFuture<SentimentResponseDTO>> future : submitted) {
+                results.add(future.get(5, TimeUnit.SECONDS));
+            }
+
+            SentimentResponseDTO response = new SentimentResponseDTO("Positivo", 0.9);
+            modelCall.complete(response);
+
+            for (CompletableFuture<SentimentResponseDTO> result : results) {
+                assertSame(response, result.join());
+            }
+        }
+        assertEquals(1, calls.get());
+        assertEquals(texts.size() - 1, registry.counter("sentiment.predictions.coalesced").count());
+    }
+
+    @Test
+    void failedModelCallFailsEveryWaiter() {
+        List<CompletableFuture<SentimentResponseDTO>> results = List.of(
+                coalescer.coalesce("muy bueno", pendingCall()),
+                coalescer.coalesce("bueno", pendingCall()),
+                coalescer.coalesce("¡bueno!", pendingCall()));
+
+        IllegalStateException failure = new IllegalStateException("503");
+        modelCall.completeExceptionally(failure);
+
+        for (CompletableFuture<SentimentResponseDTO> result : results) {
+            CompletionException e = assertThrows(CompletionException.class, result::join);
+            assertSame(failure, e.getCause());
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void finishedCallIsNotReused() {
+        coalescer.coalesce("bueno", call(CompletableFuture.completedFuture(new SentimentResponseDTO("Positivo", 0.9)))).join();
+
+        CompletableFuture<SentimentResponseDTO> next = coalescer.coalesce("bueno", pendingCall());
+
+        assertEquals(2, calls.get());
+        assertFalse(next.isDone(), "debe esperar la llamada nueva, no el resultado anterior");
+    }
+
+    @Test
+    void failedCallIsNotReused() {
+        CompletableFuture<SentimentResponseDTO> failed = coalescer.coalesce("bueno",
+                call(CompletableFuture.failedFuture(new IllegalStateException("503"))));
+        assertThrows(CompletionException.class, failed::join);
+        CompletableFuture<SentimentResponseDTO> thrown = coalescer.coalesce("bueno", () -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("circuito abierto");
+        });
+        assertThrows(CompletionException.class, thrown::join);
+
+        SentimentResponseDTO response = new SentimentResponseDTO("Positivo", 0.9);
+        CompletableFuture<SentimentResponseDTO> next = coalescer.coalesce("bueno", call(CompletableFuture.completedFuture(response)));
+
+        assertSame(response, next.join());
+        assertEquals(3, calls.get());
+    }
+
+    private Supplier<CompletableFuture<SentimentResponseDTO>> pendingCall() {
+        return call(modelCall);
+    }
+
+    private Supplier<CompletableFuture<SentimentResponseDTO>> call(CompletableFuture<SentimentResponseDTO> result) {
+        return () -> {
+            calls.incrementAndGet();
+            return result;
+        };
+    }
+}
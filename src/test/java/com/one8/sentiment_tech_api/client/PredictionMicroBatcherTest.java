@@ -0,0 +1,215 @@
+package com.one8.sentiment_tech_api.client;
+
+import com.one8.sentiment_tech_api.client.resilience.ModelCallGuard;
+import com.one8.sentiment_tech_api.client.resilience.TrafficClass;
+import com.one8.sentiment_tech_api.client.resilience.TrafficContext;
+import com.one8.sentiment_tech_api.config.ModelApiProperties;
+import com.one8.sentiment_tech_api.dtos.response.SentimentResponseDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Armado y envío de lotes del micro-batcher con el cliente del modelo y el guard simulados.
+ */
+class PredictionMicroBatcherTest {
+
+    private final ModelApiProperties properties = new ModelApiProperties();
+    private final ModelApiClient modelApiClient = mock(ModelApiClient.class);
+    private final ModelCallGuard modelCallGuard = mock(ModelCallGuard.class);
+    /**
+     * Textos de cada llamada a /predict/batch, en el orden en que se hicieron.
+     */
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+    private PredictionMicroBatcher batcher;
+
+    @BeforeEach
+    void setUp() {
+        properties.getBatching().setMaxBatchSize(8);
+        properties.getBatching().setMaxWait(Duration.ofMillis(50));
+        when(modelCallGuard.maxWait(any())).thenReturn(Duration.ofMillis(100));
+        when(modelCallGuard.execute(any(), anyString(), any())).thenAnswer(invocation -> {
+            Supplier<?> call = invocation.getArgument(2);
+            return call.get();
+        });
+        when(modelApiClient.predictBatch(anyList())).thenAnswer(invocation -> {
+            List<String> texts = invocation.getArgument(0);
+            batches.add(texts);
+            return texts.stream().map(text -> new SentimentResponseDTO(text, 0.9)).toList();
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (batcher != null) {
+            batcher.stop();
+        }
+    }
+
+    @Test
+    void fullBatchIsSentWithoutWaitingForMaxWait() throws Exception {
+        properties.getBatching().setMaxBatchSize(3);
+        properties.getBatching().setMaxWait(Duration.ofSeconds(30));
+        start();
+
+        List<CompletableFuture<SentimentResponseDTO>> results = List.of(
+                batcher.submit("uno"), batcher.submit("dos"), batcher.submit("tres"));
+
+        for (CompletableFuture<SentimentResponseDTO> result : results) {
+            result.get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(List.of(List.of("uno", "dos", "tres")), batches);
+    }
+
+    @Test
+    void partialBatchIsSentAfterMaxWait() {
+        start();
+        long start = System.nanoTime();
+
+        CompletableFuture<SentimentResponseDTO> first = batcher.submit("uno");
+        CompletableFuture<SentimentResponseDTO> second = batcher.submit("dos");
+
+        assertEquals("uno", first.join().prevision());
+        assertEquals("dos", second.join().prevision());
+        assertTrue(System.nanoTime() - start >= properties.getBatching().getMaxWait().toNanos(),
+                "el lote incompleto espera max-wait");
+        assertEquals(List.of(List.of("uno", "dos")), batches);
+    }
+
+    @Test
+    void failedBatchFailsEveryPendingPrediction() {
+        IllegalStateException failure = new IllegalStateException("500");
+        when(modelApiClient.predictBatch(anyList())).thenThrow(failure);
+        start();
+
+        List<CompletableFuture<SentimentResponseDTO>> results = List.of(batcher.submit("uno"), batcher.submit("dos"));
+
+        for (CompletableFuture<SentimentResponseDTO> result : results) {
+            CompletionException e = assertThrows(CompletionException.class, result::join);
+            assertSame(failure, e.getCause());
+        }
+    }
+
+    @Test
+    void collectorKeepsRunningAfterASendFails() {
+        AsyncModelApiClient asyncClient = mock(AsyncModelApiClient.class);
+        when(asyncClient.predictBatch(anyList())).thenAnswer(invocation -> {
+            List<String> texts = invocation.getArgument(0);
+            return CompletableFuture.completedFuture(texts.stream().map(text -> new SentimentResponseDTO(text, 0.9)).toList());
+        });
+        when(modelCallGuard.executeAsync(any(), anyString(), any()))
+                .thenThrow(new IllegalStateException("fallo al enviar"))
+                .thenAnswer(invocation -> {
+                    Supplier<?> call = invocation.getArgument(2);
+                    return call.get();
+                });
+        start(asyncClient);
+
+        CompletionException e = assertThrows(CompletionException.class, () -> batcher.submit("uno").join());
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+
+        assertEquals("dos", batcher.submit("dos").join().prevision());
+    }
+
+    @Test
+    void lostBatchTimesOut() {
+        properties.getBatching().setMaxWait(Duration.ZERO);
+        properties.getTransport().setConnectionRequestTimeout(Duration.ZERO);
+        properties.getTransport().setConnectTimeout(Duration.ZERO);
+        properties.getTransport().setReadTimeout(Duration.ofMillis(100));
+        when(modelCallGuard.maxWait(any())).thenReturn(Duration.ZERO);
+        when(modelCallGuard.executeAsync(any(), anyString(), any())).thenReturn(new CompletableFuture<>());
+        start(mock(AsyncModelApiClient.class));
+
+        CompletionException e = assertThrows(CompletionException.class, () -> batcher.submit("uno").join());
+
+        assertInstanceOf(TimeoutException.class, e.getCause());
+    }
+
+    @Test
+    void stopSendsWhatIsLeftInTheQueue() throws Exception {
+        CountDownLatch sending = new CountDownLatch(1);
+        when(modelCallGuard.executeAsync(any(), anyString(), any())).thenAnswer(invocation -> {
+            // El colector queda ocupado en este envío hasta que stop() lo interrumpe
+            sending.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return CompletableFuture.completedFuture(List.of(new SentimentResponseDTO("uno", 0.9)));
+        });
+        start(mock(AsyncModelApiClient.class));
+
+        CompletableFuture<SentimentResponseDTO> first = batcher.submit("uno");
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+        List<CompletableFuture<SentimentResponseDTO>> queued = List.of(batcher.submit("dos"), batcher.submit("tres"));
+
+        batcher.stop();
+
+        assertEquals("uno", first.join().prevision());
+        assertEquals(List.of("dos", "tres"), queued.stream().map(result -> result.join().prevision()).toList());
+        CompletionException e = assertThrows(CompletionException.class, () -> batcher.submit("cuatro").join());
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+
+    @Test
+    void eachTenantIsSentInItsOwnBatchUnderItsOwnName() {
+        start();
+
+        List<CompletableFuture<SentimentResponseDTO>> results = List.of(
+                submitAs(TrafficClass.BATCH, "acme", "acme-1"),
+                submitAs(TrafficClass.BATCH, "globex", "globex-1"),
+                submitAs(TrafficClass.BATCH, "acme", "acme-2"),
+                submitAs(TrafficClass.BATCH, "globex", "globex-2"));
+
+        assertEquals(List.of("acme-1", "globex-1", "acme-2", "globex-2"),
+                results.stream().map(result -> result.join().prevision()).toList());
+        for (List<String> batch : batches) {
+            String tenant = batch.getFirst().substring(0, batch.getFirst().indexOf('-'));
+            assertTrue(batch.stream().allMatch(text -> text.startsWith(tenant + "-")), "lote mezclado: " + batch);
+        }
+        verify(modelCallGuard, atLeastOnce()).execute(eq(TrafficClass.BATCH), eq("acme"), any());
+        verify(modelCallGuard, atLeastOnce()).execute(eq(TrafficClass.BATCH), eq("globex"), any());
+        verify(modelCallGuard, never()).execute(any(), eq(TrafficContext.DEFAULT_TENANT), any());
+    }
+
+    private void start() {
+        start(null);
+    }
+
+    private void start(AsyncModelApiClient asyncClient) {
+        batcher = new PredictionMicroBatcher(modelApiClient, Optional.ofNullable(asyncClient), modelCallGuard, properties);
+        batcher.start();
+    }
+
+    private CompletableFuture<SentimentResponseDTO> submitAs(TrafficClass trafficClass, String tenant, String text) {
+        return TrafficContext.callAs(trafficClass, tenant, () -> batcher.submit(text));
+    }
+}
@@ -0,0 +1,122 @@
+package com.one8.sentiment_tech_api.client.resilience;
+
+import com.one8.sentiment_tech_api.config.ResilienceProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Ajuste AIMD del límite de concurrencia.
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private final ResilienceProperties properties = new ResilienceProperties();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        ResilienceProperties.Limiter config = properties.getLimiter();
+        config.setInitialLimit(4);
+        config.setMinLimit(2);
+        config.setMaxLimit(5);
+        config.setBackoffRatio(0.5);
+        config.setLatencyTolerance(2.0);
+    }
+
+    @Test
+    void refusesPermitsAboveTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter();
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        assertFalse(limiter.tryAcquire());
+
+        limiter.onIgnored();
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void growsOnFastResponsesUpToTheMaximum() {
+        AdaptiveConcurrencyLimiter limiter = limiter();
+        acquire(limiter, 4);
+
+        limiter.onSuccess(1_000_000);
+        assertEquals(5, limit());
+
+        acquire(limiter, 2);
+        limiter.onSuccess(1_000_000);
+        limiter.onSuccess(1_000_000);
+        assertEquals(5, limit());
+    }
+
+    @Test
+    void doesNotGrowWhileTheLimitIsBarelyUsed() {
+        AdaptiveConcurrencyLimiter limiter = limiter();
+        acquire(limiter, 1);
+
+        limiter.onSuccess(1_000_000);
+
+        assertEquals(4, limit());
+        assertEquals(0, inFlight());
+    }
+
+    @Test
+    void backsOffOnDropsAndSlowResponsesDownToTheMinimum() {
+        AdaptiveConcurrencyLimiter limiter = limiter();
+        acquire(limiter, 4);
+
+        limiter.onSuccess(1_000_000);
+        assertEquals(5, limit());
+        limiter.onSuccess(3_000_000);
+        assertEquals(2, limit());
+        limiter.onDropped();
+        assertEquals(2, limit());
+        assertEquals(1, inFlight());
+    }
+
+    @Test
+    void ignoredCallsReleaseWithoutAdjusting() {
+        AdaptiveConcurrencyLimiter limiter = limiter();
+        acquire(limiter, 4);
+
+        limiter.onIgnored();
+
+        assertEquals(4, limit());
+        assertEquals(3, inFlight());
+    }
+
+    @Test
+    void disabledLimiterAlwaysGrants() {
+        properties.getLimiter().setEnabled(false);
+        AdaptiveConcurrencyLimiter limiter = limiter();
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        limiter.onDropped();
+        assertEquals(4, limit());
+    }
+
+    private AdaptiveConcurrencyLimiter limiter() {
+        return new AdaptiveConcurrencyLimiter(properties, registry);
+    }
+
+    private static void acquire(AdaptiveConcurrencyLimiter limiter, int permits) {
+        for (int i = 0; i < permits; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+    }
+
+    private int limit() {
+        return (int) registry.get("model.limiter.limit").gauge().value();
+    }
+
+    private int inFlight() {
+        return (int) registry.get("model.limiter.inflight").gauge().value();
+    }
+}
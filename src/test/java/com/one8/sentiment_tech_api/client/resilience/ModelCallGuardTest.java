@@ -0,0 +1,179 @@
+package com.one8.sentiment_tech_api.client.resilience;
+
+import com.one8.sentiment_tech_api.config.ResilienceProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cada salida de una llamada protegida, exitosa, fallida o rechazada, devuelve el cupo del bulkhead
+ * y el permiso del limitador. Con un solo cupo y un solo permiso, una fuga bloquea la llamada siguiente.
+ */
+class ModelCallGuardTest {
+
+    private final ResilienceProperties properties = new ResilienceProperties();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private AdaptiveConcurrencyLimiter limiter;
+    private ModelCircuitBreaker circuitBreaker;
+    private ModelCallGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        ResilienceProperties.Limiter limiterConfig = properties.getLimiter();
+        limiterConfig.setInitialLimit(1);
+        limiterConfig.setMinLimit(1);
+        limiterConfig.setMaxLimit(1);
+        ResilienceProperties.Bulkhead bulkheadConfig = properties.getBulkhead();
+        bulkheadConfig.setInteractiveMaxConcurrent(1);
+        bulkheadConfig.setInteractiveMaxWait(Duration.ofMillis(20));
+        ResilienceProperties.CircuitBreaker breakerConfig = properties.getCircuitBreaker();
+        breakerConfig.setMinimumCalls(1);
+        breakerConfig.setFailureRateThreshold(0.5);
+        breakerConfig.setOpenDuration(Duration.ofHours(1));
+
+        limiter = new AdaptiveConcurrencyLimiter(properties, registry);
+        circuitBreaker = new ModelCircuitBreaker(properties, registry);
+        ModelBulkhead bulkhead = new ModelBulkhead(properties, registry);
+        ModelCallScheduler scheduler = new ModelCallScheduler(properties, limiter, registry);
+        guard = new ModelCallGuard(circuitBreaker, bulkhead, limiter, scheduler);
+    }
+
+    @Test
+    void successReleasesEverything() {
+        assertEquals("ok", guard.execute(TrafficClass.INTERACTIVE, () -> "ok"));
+
+        assertReleased();
+        assertEquals(ModelCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void failureReleasesEverythingAndCountsForTheCircuit() {
+        assertThrows(IllegalStateException.class, () -> guard.execute(TrafficClass.INTERACTIVE, () -> {
+            throw new IllegalStateException("500");
+        }));
+
+        assertReleased();
+        assertEquals(ModelCircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void clientErrorReleasesEverythingWithoutCountingForTheCircuit() {
+        assertThrows(HttpClientErrorException.class, () -> guard.execute(TrafficClass.INTERACTIVE, () -> {
+            throw new HttpClientErrorException(HttpStatus.BAD_REQUEST);
+        }));
+
+        assertReleased();
+        assertEquals(ModelCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void limiterRejectionReleasesTheBulkhead() {
+        assertTrue(limiter.tryAcquire());
+
+        assertThrows(ModelCallRejectedException.class, () -> guard.execute(TrafficClass.INTERACTIVE, () -> "ok"));
+
+        assertEquals(1, bulkheadAvailable());
+        limiter.onIgnored();
+        assertReleased();
+        assertEquals(ModelCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void openCircuitRejectsWithoutTakingPermits() {
+        circuitBreaker.onFailure();
+
+        assertThrows(ModelCallRejectedException.class, () -> guard.execute(TrafficClass.INTERACTIVE, () -> "ok"));
+        assertInstanceOf(ModelCallRejectedException.class,
+                failure(guard.executeAsync(TrafficClass.INTERACTIVE, () -> CompletableFuture.completedFuture("ok"))));
+
+        assertReleased();
+    }
+
+    @Test
+    void asyncSuccessReleasesEverything() {
+        assertEquals("ok", guard.executeAsync(TrafficClass.INTERACTIVE, () -> CompletableFuture.completedFuture("ok")).join());
+
+        assertReleased();
+    }
+
+    @Test
+    void asyncFailedFutureReleasesEverything() {
+        Throwable failure = failure(guard.executeAsync(TrafficClass.INTERACTIVE,
+                () -> CompletableFuture.failedFuture(new IllegalStateException("500"))));
+
+        assertInstanceOf(IllegalStateException.class, failure);
+        assertReleased();
+        assertEquals(ModelCircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void asyncSupplierThrowingReleasesEverything() {
+        Throwable failure = failure(guard.executeAsync(TrafficClass.INTERACTIVE, () -> {
+            throw new IllegalStateException("sin conexión");
+        }));
+
+        assertInstanceOf(IllegalStateException.class, failure);
+        assertReleased();
+    }
+
+    @Test
+    void asyncClientErrorReleasesEverythingWithoutCountingForTheCircuit() {
+        Throwable failure = failure(guard.executeAsync(TrafficClass.INTERACTIVE,
+                () -> CompletableFuture.failedFuture(new HttpClientErrorException(HttpStatus.BAD_REQUEST))));
+
+        assertInstanceOf(HttpClientErrorException.class, failure);
+        assertReleased();
+        assertEquals(ModelCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void asyncLimiterTimeoutReleasesTheBulkhead() {
+        assertTrue(limiter.tryAcquire());
+
+        Throwable failure = failure(guard.executeAsync(TrafficClass.INTERACTIVE, () -> CompletableFuture.completedFuture("ok")));
+
+        assertInstanceOf(ModelCallRejectedException.class, failure);
+        assertEquals(1, bulkheadAvailable());
+        limiter.onIgnored();
+        assertReleased();
+        assertEquals(ModelCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void fullBulkheadRejectsAsyncCallsWithoutTakingPermits() {
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        CompletableFuture<String> first = guard.executeAsync(TrafficClass.INTERACTIVE, () -> pending);
+
+        Throwable failure = failure(guard.executeAsync(TrafficClass.INTERACTIVE, () -> CompletableFuture.completedFuture("ok")));
+        assertInstanceOf(ModelCallRejectedException.class, failure);
+
+        pending.complete("ok");
+        assertEquals("ok", first.join());
+        assertReleased();
+    }
+
+    private void assertReleased() {
+        assertEquals(1, bulkheadAvailable(), "cupo del bulkhead");
+        assertEquals(0, (int) registry.get("model.limiter.inflight").gauge().value(), "permisos del limitador");
+    }
+
+    private int bulkheadAvailable() {
+        return (int) registry.get("model.bulkhead.available").tag("class", TrafficClass.INTERACTIVE.tag()).gauge().value();
+    }
+
+    private static Throwable failure(CompletableFuture<?> future) {
+        CompletionException e = assertThrows(CompletionException.class, future::join);
+        return e.getCause();
+    }
+}
@@ -0,0 +1,166 @@
+package com.one8.sentiment_tech_api.client.resilience;
+
+import com.one8.sentiment_tech_api.config.ResilienceProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reparto de permisos del limitador entre carriles y tenants. El limitador tiene un solo permiso:
+ * cada vez que se devuelve, el scheduler decide a quién se lo entrega.
+ */
+class ModelCallSchedulerTest {
+
+    private static final Duration LONG_WAIT = Duration.ofMinutes(1);
+
+    private final ResilienceProperties properties = new ResilienceProperties();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private AdaptiveConcurrencyLimiter limiter;
+    private ModelCallScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        ResilienceProperties.Limiter config = properties.getLimiter();
+        config.setInitialLimit(1);
+        config.setMinLimit(1);
+        config.setMaxLimit(1);
+        limiter = new AdaptiveConcurrencyLimiter(properties, registry);
+        scheduler = new ModelCallScheduler(properties, limiter, registry);
+    }
+
+    @Test
+    void grantsImmediatelyWhenIdle() throws InterruptedException {
+        assertTrue(scheduler.acquire(TrafficClass.BATCH, "acme", LONG_WAIT));
+        assertEquals(1, inFlight());
+    }
+
+    @Test
+    void backloggedLanesShareNineToOne() {
+        assertTrue(limiter.tryAcquire());
+        List<Waiting> waiting = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            waiting.add(enqueue(TrafficClass.INTERACTIVE, TrafficContext.DEFAULT_TENANT));
+            waiting.add(enqueue(TrafficClass.BATCH, TrafficContext.DEFAULT_TENANT));
+        }
+
+        int interactive = 0;
+        for (int i = 0; i < 100; i++) {
+            if (releaseAndAwaitNext(waiting).trafficClass() == TrafficClass.INTERACTIVE) {
+                interactive++;
+            }
+        }
+
+        assertEquals(90, interactive, 1, "de cada 10 permisos, 9 al tráfico interactivo");
+    }
+
+    @Test
+    void batchAloneGetsEveryPermit() {
+        assertTrue(limiter.tryAcquire());
+        List<Waiting> waiting = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            waiting.add(enqueue(TrafficClass.BATCH, TrafficContext.DEFAULT_TENANT));
+        }
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(TrafficClass.BATCH, releaseAndAwaitNext(waiting).trafficClass());
+        }
+    }
+
+    @Test
+    void tenantsInALaneTakeTurns() {
+        assertTrue(limiter.tryAcquire());
+        List<Waiting> waiting = new ArrayList<>();
+        waiting.add(enqueue(TrafficClass.BATCH, "acme"));
+        waiting.add(enqueue(TrafficClass.BATCH, "acme"));
+        waiting.add(enqueue(TrafficClass.BATCH, "acme"));
+        waiting.add(enqueue(TrafficClass.BATCH, "globex"));
+        waiting.add(enqueue(TrafficClass.BATCH, "initech"));
+
+        List<String> order = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            order.add(releaseAndAwaitNext(waiting).tenant());
+        }
+
+        assertEquals(List.of("acme", "globex", "initech", "acme", "acme"), order);
+    }
+
+    @Test
+    void blockingAcquireGivesUpAfterMaxWait() throws InterruptedException {
+        assertTrue(limiter.tryAcquire());
+
+        assertFalse(scheduler.acquire(TrafficClass.INTERACTIVE, TrafficContext.DEFAULT_TENANT, Duration.ofMillis(20)));
+
+        // El que se rindió ya no está en cola: el permiso liberado queda libre
+        limiter.onIgnored();
+        scheduler.dispatch();
+        assertEquals(0, inFlight());
+        assertEquals(0, queued(TrafficClass.INTERACTIVE));
+    }
+
+    @Test
+    void asyncTimeoutAndGrantNeverLeakOrDuplicatePermits() {
+        for (int i = 0; i < 500; i++) {
+            assertTrue(limiter.tryAcquire());
+            CompletableFuture<Boolean> future = scheduler.acquireAsync(TrafficClass.BATCH, "acme", Duration.ofNanos(200_000));
+
+            // Se libera el permiso alrededor del vencimiento de la espera para cruzar concesión y timeout
+            LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(400_000));
+            limiter.onIgnored();
+            scheduler.dispatch();
+
+            boolean acquired = future.join();
+            assertEquals(acquired ? 1 : 0, inFlight(), "iteración " + i);
+            assertEquals(0, queued(TrafficClass.BATCH), "iteración " + i);
+            if (acquired) {
+                limiter.onIgnored();
+            }
+        }
+    }
+
+    private Waiting enqueue(TrafficClass trafficClass, String tenant) {
+        return new Waiting(trafficClass, tenant, scheduler.acquireAsync(trafficClass, tenant, LONG_WAIT));
+    }
+
+    /**
+     * Devuelve el permiso en uso y espera a que el scheduler se lo entregue a una sola de las llamadas en cola.
+     */
+    private Waiting releaseAndAwaitNext(List<Waiting> waiting) {
+        limiter.onIgnored();
+        scheduler.dispatch();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            List<Waiting> granted = waiting.stream().filter(w -> w.granted().isDone()).toList();
+            if (!granted.isEmpty()) {
+                assertEquals(1, granted.size(), "un permiso por liberación");
+                assertTrue(granted.getFirst().granted().join());
+                waiting.remove(granted.getFirst());
+                return granted.getFirst();
+            }
+            Thread.onSpinWait();
+        }
+        throw new AssertionError("Ninguna llamada en cola recibió el permiso");
+    }
+
+    private int inFlight() {
+        return (int) registry.get("model.limiter.inflight").gauge().value();
+    }
+
+    private int queued(TrafficClass trafficClass) {
+        return (int) registry.get("model.scheduler.queued").tag("class", trafficClass.tag()).gauge().value();
+    }
+
+    private record Waiting(TrafficClass trafficClass, String tenant, CompletableFuture<Boolean> granted) {
+    }
+}
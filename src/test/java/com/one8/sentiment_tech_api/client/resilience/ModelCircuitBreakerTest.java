@@ -0,0 +1,124 @@
+package com.one8.sentiment_tech_api.client.resilience;
+
+import com.one8.sentiment_tech_api.config.ResilienceProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Transiciones cerrado → abierto → semiabierto → cerrado/abierto del circuit breaker.
+ */
+class ModelCircuitBreakerTest {
+
+    private final ResilienceProperties properties = new ResilienceProperties();
+
+    @Test
+    void staysClosedUntilMinimumCallsAreRecorded() {
+        ModelCircuitBreaker breaker = breaker(4, Duration.ofHours(1), 1);
+
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onFailure();
+
+        assertEquals(ModelCircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void opensWhenFailureRateReachesThreshold() {
+        ModelCircuitBreaker breaker = breaker(4, Duration.ofHours(1), 1);
+
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onFailure();
+        assertEquals(ModelCircuitBreaker.State.CLOSED, breaker.getState());
+
+        breaker.onFailure();
+        assertEquals(ModelCircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void ignoredCallsDoNotCountTowardsTheFailureRate() {
+        ModelCircuitBreaker breaker = breaker(2, Duration.ofHours(1), 1);
+
+        breaker.onSuccess();
+        breaker.onIgnored();
+        breaker.onIgnored();
+        breaker.onSuccess();
+
+        assertEquals(ModelCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void halfOpenClosesAfterAllTrialCallsSucceed() {
+        ModelCircuitBreaker breaker = breaker(1, Duration.ZERO, 2);
+        breaker.onFailure();
+        assertEquals(ModelCircuitBreaker.State.OPEN, breaker.getState());
+
+        assertTrue(breaker.tryAcquire());
+        assertEquals(ModelCircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire(), "solo half-open-calls llamadas de prueba");
+
+        breaker.onSuccess();
+        assertEquals(ModelCircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.onSuccess();
+        assertEquals(ModelCircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void halfOpenReopensOnTrialFailure() {
+        ModelCircuitBreaker breaker = breaker(1, Duration.ZERO, 2);
+        breaker.onFailure();
+        assertTrue(breaker.tryAcquire());
+
+        breaker.onFailure();
+
+        assertEquals(ModelCircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void ignoredTrialCallReturnsItsPermit() {
+        ModelCircuitBreaker breaker = breaker(1, Duration.ZERO, 1);
+        breaker.onFailure();
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+
+        breaker.onIgnored();
+
+        assertTrue(breaker.tryAcquire());
+        breaker.onSuccess();
+        assertEquals(ModelCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void closingStartsWithAnEmptyWindow() {
+        ModelCircuitBreaker breaker = breaker(2, Duration.ZERO, 1);
+        breaker.onFailure();
+        breaker.onFailure();
+        assertTrue(breaker.tryAcquire());
+        breaker.onSuccess();
+        assertEquals(ModelCircuitBreaker.State.CLOSED, breaker.getState());
+
+        // Los fallos previos a la apertura ya no cuentan
+        breaker.onFailure();
+        assertEquals(ModelCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    private ModelCircuitBreaker breaker(int minimumCalls, Duration openDuration, int halfOpenCalls) {
+        ResilienceProperties.CircuitBreaker config = properties.getCircuitBreaker();
+        config.setWindowSize(10);
+        config.setMinimumCalls(minimumCalls);
+        config.setFailureRateThreshold(0.5);
+        config.setOpenDuration(openDuration);
+        config.setHalfOpenCalls(halfOpenCalls);
+        return new ModelCircuitBreaker(properties, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,141 @@
+package com.one8.sentiment_tech_api.csv;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CsvColumnReaderTest {
+
+    private static final byte[] BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    @Test
+    void quotedFieldsKeepNewlinesAndCommas() throws IOException {
+        List<List<String>> records = readAll("texto,id\n\"línea uno\nlínea dos, con coma\",1\n");
+
+        assertEquals(List.of(List.of("texto", "id"), List.of("línea uno\nlínea dos, con coma", "1")), records);
+    }
+
+    @Test
+    void doubledQuotesAreUnescaped() throws IOException {
+        List<List<String>> records = readAll("\"dijo \"\"excelente\"\" y se fue\",\"\"\"\"\n");
+
+        assertEquals(List.of(List.of("dijo \"excelente\" y se fue", "\"")), records);
+    }
+
+    @Test
+    void crlfEndsRecordsEvenWhenSplitAcrossReads() throws IOException {
+        // Con un read de un byte el \r y el \n siempre llegan en lecturas distintas
+        CsvColumnReader reader = new CsvColumnReader(oneBytePerRead(bytes("uno,1\r\ndos,2\r\n")), 16);
+
+        assertEquals(List.of("uno", "1"), reader.readRecord());
+        assertEquals(List.of("dos", "2"), reader.readRecord());
+        assertNull(reader.readRecord());
+        assertEquals(2, reader.recordNumber());
+    }
+
+    @Test
+    void byteOrderMarkIsSkipped() throws IOException {
+        CsvColumnReader reader = new CsvColumnReader(new ByteArrayInputStream(concat(BOM, bytes("texto\nhola\n"))));
+
+        assertEquals(List.of("texto"), reader.readRecord());
+        assertEquals(List.of("hola"), reader.readRecord());
+    }
+
+    @Test
+    void byteOrderMarkSplitAcrossReadsIsSkipped() throws IOException {
+        CsvColumnReader reader = new CsvColumnReader(oneBytePerRead(concat(BOM, bytes("texto\n"))), 16);
+
+        assertEquals(List.of("texto"), reader.readRecord());
+        assertNull(reader.readRecord());
+    }
+
+    @Test
+    void inputShorterThanByteOrderMarkIsRead() throws IOException {
+        CsvColumnReader reader = new CsvColumnReader(oneBytePerRead(bytes("ab")), 16);
+
+        assertEquals(List.of("ab"), reader.readRecord());
+        assertNull(reader.readRecord());
+    }
+
+    @Test
+    void unterminatedQuoteFails() throws IOException {
+        CsvColumnReader reader = new CsvColumnReader(new ByteArrayInputStream(bytes("ok\n\"sin cerrar,1\n")));
+
+        assertEquals(List.of("ok"), reader.readRecord());
+        CsvFormatException e = assertThrows(CsvFormatException.class, reader::readRecord);
+        assertTrue(e.getMessage().contains("registro 2"), e.getMessage());
+    }
+
+    @Test
+    void emptyFirstFieldAndBlankLinesAreEmptyRecords() throws IOException {
+        List<List<String>> records = readAll("\nMe encantó el servicio,\n");
+
+        assertEquals(List.of(List.of(""), List.of("Me encantó el servicio", "")), records);
+    }
+
+    @Test
+    void readColumnSkipsOtherFieldsAndFillsMissingOnes() throws IOException {
+        CsvColumnReader reader = new CsvColumnReader(new ByteArrayInputStream(bytes("1,\"a, b\",x\n2\n")));
+
+        assertEquals("a, b", reader.readColumn(1, false));
+        assertEquals("", reader.readColumn(1, false));
+        assertNull(reader.readColumn(1, false));
+    }
+
+    @Test
+    void readColumnJoinsTrailingFields() throws IOException {
+        CsvColumnReader reader = new CsvColumnReader(new ByteArrayInputStream(bytes("bueno, bonito y barato\n")));
+
+        assertEquals("bueno, bonito y barato", reader.readColumn(0, true));
+    }
+
+    @Test
+    void fieldsLongerThanTheBufferAreReadWhole() throws IOException {
+        String longText = "x".repeat(1_000);
+        CsvColumnReader reader = new CsvColumnReader(new ByteArrayInputStream(bytes("\"" + longText + "\",fin\n")), 16);
+
+        assertEquals(List.of(longText, "fin"), reader.readRecord());
+    }
+
+    private static List<List<String>> readAll(String csv) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (CsvColumnReader reader = new CsvColumnReader(new ByteArrayInputStream(bytes(csv)), 16)) {
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] result = new byte[first.length + second.length];
+        System.arraycopy(first, 0, result, 0, first.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+
+    private static InputStream oneBytePerRead(byte[] content) {
+        return new FilterInputStream(new ByteArrayInputStream(content)) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return super.read(b, off, Math.min(1, len));
+            }
+        };
+    }
+}
@@ -0,0 +1,88 @@
+package com.one8.sentiment_tech_api.nlp;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.one8.sentiment_tech_api.dtos.response.SentimentResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Compara el motor local con las predicciones de Python. Los modelos de src/test/resources/nlp los
+ * genera {@code python model-api/parity_fixture.py}; el modelo real exportado por
+ * {@code model-api/export_model.py} se compara con {@code -Dparity.export-dir=model-api/export}.
+ */
+class LinearSentimentModelParityTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @ParameterizedTest
+    @ValueSource(strings = {"calibrated", "logistic-binary"})
+    void matchesPythonFixture(String fixture) throws IOException {
+        LinearSentimentModel model;
+        try (InputStream in = resource("/nlp/" + fixture + "-model.json")) {
+            model = LinearSentimentModel.load(in, jsonMapper);
+        }
+        ParityFile parity;
+        try (InputStream in = resource("/nlp/" + fixture + "-parity.json")) {
+            parity = jsonMapper.readValue(in, ParityFile.class);
+        }
+
+        assertParity(model, parity);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "parity.export-dir", matches = ".+")
+    void matchesExportedModel() throws IOException {
+        Path exportDir = Path.of(System.getProperty("parity.export-dir"));
+        LinearSentimentModel model;
+        try (InputStream in = Files.newInputStream(exportDir.resolve("sentiment-model.json"))) {
+            model = LinearSentimentModel.load(in, jsonMapper);
+        }
+        ParityFile parity;
+        try (InputStream in = Files.newInputStream(exportDir.resolve("parity.json"))) {
+            parity = jsonMapper.readValue(in, ParityFile.class);
+        }
+
+        assertParity(model, parity);
+    }
+
+    private static void assertParity(LinearSentimentModel model, ParityFile parity) {
+        assertEquals(parity.modelVersion(), model.getVersion());
+        assertFalse(parity.samples().isEmpty());
+        for (ParitySample sample : parity.samples()) {
+            SentimentResponseDTO response = model.predict(sample.text());
+            assertEquals(sample.prevision(), response.prevision(), sample.text());
+            assertEquals(sample.probabilidad(), response.probabilidad(), 1e-9, sample.text());
+
+            if (sample.probabilities() != null) {
+                double[] proba = model.predictProba(TextNormalizer.normalize(sample.text()));
+                assertArrayEquals(sample.probabilities(), proba, 1e-9, sample.text());
+            }
+        }
+    }
+
+    private static InputStream resource(String name) {
+        InputStream in = LinearSentimentModelParityTest.class.getResourceAsStream(name);
+        assertNotNull(in, name);
+        return in;
+    }
+
+    record ParityFile(@JsonProperty("model_version") String modelVersion, List<ParitySample> samples) {
+    }
+
+    record ParitySample(String text, String prevision, double probabilidad, double[] probabilities) {
+    }
+}
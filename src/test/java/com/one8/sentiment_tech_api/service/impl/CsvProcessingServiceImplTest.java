@@ -0,0 +1,108 @@
+package com.one8.sentiment_tech_api.service.impl;
+
+import com.one8.sentiment_tech_api.config.BatchProcessingProperties;
+import com.one8.sentiment_tech_api.dtos.request.SentimentRequestDTO;
+import com.one8.sentiment_tech_api.dtos.response.SentimentResponseDTO;
+import com.one8.sentiment_tech_api.dtos.response.TextSentimentResultDTO;
+import com.one8.sentiment_tech_api.exceptions.CsvProcessingException;
+import com.one8.sentiment_tech_api.metrics.SentimentMetrics;
+import com.one8.sentiment_tech_api.service.SentimentService;
+import com.one8.sentiment_tech_api.service.SentimentStatsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Detección de encabezado y columna de texto a partir del primer registro del CSV, y puntuación de
+ * los textos repetidos de un bloque.
+ */
+class CsvProcessingServiceImplTest {
+
+    private final BatchProcessingProperties properties = new BatchProcessingProperties();
+    private final SentimentStatsService sentimentStatsService = mock(SentimentStatsService.class);
+
+    @Test
+    void firstRecordEndingWithEmptyFieldIsData() {
+        assertEquals(List.of("Me encantó el servicio,", "La entrega fue muy lenta"),
+                texts("Me encantó el servicio,\nLa entrega fue muy lenta\n"));
+    }
+
+    @Test
+    void leadingBlankLineIsNotAHeader() {
+        assertEquals(List.of("El producto llegó roto"), texts("\nEl producto llegó roto\n"));
+    }
+
+    @Test
+    void knownHeaderSelectsItsColumn() {
+        assertEquals(List.of("Muy buena atención"), texts("id,comentario\n1,Muy buena atención\n"));
+    }
+
+    @Test
+    void configuredColumnSelectsItsColumn() {
+        properties.setTextColumn("Opinion");
+
+        assertEquals(List.of("Muy buena atención"), texts("opinion,texto\nMuy buena atención,ignorado\n"));
+    }
+
+    @Test
+    void missingConfiguredColumnFails() {
+        properties.setTextColumn("opinion");
+
+        assertThrows(CsvProcessingException.class, () -> texts("texto\nMuy buena atención\n"));
+    }
+
+    @Test
+    void textsWithTheSameNormalizedFormShareOneModelCall() {
+        SentimentResponseDTO positive = new SentimentResponseDTO("Positivo", 0.9);
+        SentimentResponseDTO negative = new SentimentResponseDTO("Negativo", 0.8);
+        SentimentService sentimentService = mock(SentimentService.class);
+        when(sentimentService.predict(any())).thenAnswer(invocation -> {
+            SentimentRequestDTO request = invocation.getArgument(0);
+            return request.text().toLowerCase(Locale.ROOT).contains("malo") ? negative : positive;
+        });
+        List<TextSentimentResultDTO> results = new ArrayList<>();
+
+        int saved = service().processBatchSentimentsWithText(
+                List.of("¡Muy bueno!", "Malo", "muy bueno", "BUENO", "malo."), sentimentService, results::add);
+
+        assertEquals(3, saved);
+        verify(sentimentService, times(2)).predict(any());
+        assertEquals(List.of(
+                new TextSentimentResultDTO("¡Muy bueno!", positive),
+                new TextSentimentResultDTO("Malo", negative),
+                new TextSentimentResultDTO("muy bueno", positive),
+                new TextSentimentResultDTO("BUENO", positive),
+                new TextSentimentResultDTO("malo.", negative)), results);
+        // Las filas repetidas guardan el log con su propio texto
+        verify(sentimentStatsService).saveLog("muy bueno", positive);
+        verify(sentimentStatsService).saveLog("BUENO", positive);
+        verify(sentimentStatsService).saveLog("malo.", negative);
+    }
+
+    private List<String> texts(String csv) {
+        MockMultipartFile file = new MockMultipartFile("file", "datos.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
+        try (Stream<String> texts = service().streamTextsFromCsv(file)) {
+            return texts.toList();
+        }
+    }
+
+    private CsvProcessingServiceImpl service() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        return new CsvProcessingServiceImpl(properties, new BatchExecutor(properties),
+                new SentimentMetrics(registry), sentimentStatsService, new TenantBatchQuota(properties, registry));
+    }
+}
@@ -0,0 +1,44 @@
+package com.one8.sentiment_tech_api.service.impl;
+
+import com.one8.sentiment_tech_api.client.resilience.TrafficContext;
+import com.one8.sentiment_tech_api.config.BatchProcessingProperties;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TenantResolverTest {
+
+    @Test
+    void knownKeyResolvesToItsTenantId() {
+        TenantResolver resolver = new TenantResolver(properties("acme", "clave-acme"));
+
+        assertEquals("acme", resolver.resolve("clave-acme"));
+    }
+
+    @Test
+    void missingOrUnknownKeysShareTheDefaultTenant() {
+        TenantResolver resolver = new TenantResolver(properties("acme", "clave-acme"));
+
+        assertEquals(TrafficContext.DEFAULT_TENANT, resolver.resolve(null));
+        assertEquals(TrafficContext.DEFAULT_TENANT, resolver.resolve(" "));
+        assertEquals(TrafficContext.DEFAULT_TENANT, resolver.resolve("otra-clave"));
+        assertEquals(TrafficContext.DEFAULT_TENANT, resolver.resolve("otra-clave-mas"));
+    }
+
+    @Test
+    void tenantWithoutKeyHashIsRejected() {
+        BatchProcessingProperties properties = new BatchProcessingProperties();
+        properties.getTenants().put("acme", new BatchProcessingProperties.Tenant());
+
+        assertThrows(IllegalStateException.class, () -> new TenantResolver(properties));
+    }
+
+    private static BatchProcessingProperties properties(String id, String apiKey) {
+        BatchProcessingProperties.Tenant tenant = new BatchProcessingProperties.Tenant();
+        tenant.setApiKeySha256(TenantResolver.sha256(apiKey).toUpperCase());
+        BatchProcessingProperties properties = new BatchProcessingProperties();
+        properties.getTenants().put(id, tenant);
+        return properties;
+    }
+}